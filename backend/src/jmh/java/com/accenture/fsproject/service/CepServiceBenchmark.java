@@ -0,0 +1,35 @@
+package com.accenture.fsproject.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CepServiceBenchmark {
+
+    private String cep = "35604000";
+    private String formattedCep = "35604-000";
+
+    @Benchmark
+    public String normalizeCep() {
+        return CepService.normalizeCep(cep);
+    }
+
+    @Benchmark
+    public String normalizeFormattedCep() {
+        return CepService.normalizeCep(formattedCep);
+    }
+}
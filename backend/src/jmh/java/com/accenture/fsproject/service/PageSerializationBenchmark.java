@@ -0,0 +1,127 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.dto.company.CompanyResponseDTO;
+import com.accenture.fsproject.dto.page.ColumnarPageDTO;
+import com.accenture.fsproject.dto.page.PageDTO;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson serialization of a company listing page, as written by {@code GET /companies}: the former
+ * {@link Page} envelope, the slim {@link PageDTO} and the columnar representation, each also gzip-compressed
+ * as the server does. The size of every representation is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+    @Param({"5", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper columnarMapper;
+    private Page<CompanyResponseDTO> page;
+    private PageDTO<CompanyResponseDTO> pageDTO;
+    private ColumnarPageDTO columnarPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<CompanyResponseDTO> companies = new ArrayList<>();
+        for (long id = 1; id <= pageSize; id++) {
+            Set<Long> suppliersIds = LongStream.rangeClosed(id, id + 10).boxed().collect(Collectors.toSet());
+            companies.add(new CompanyResponseDTO(id, "Company " + id, String.format("%014d", id), "49042210",
+                    FederativeUnit.SE, suppliersIds));
+        }
+
+        page = new PageImpl<>(companies, PageRequest.of(0, pageSize), 10_000);
+        pageDTO = PageDTO.of(page);
+
+        columnarMapper = objectMapper.copy();
+        columnarMapper.configOverride(CompanyResponseDTO.class).setFormat(JsonFormat.Value.forShape(JsonFormat.Shape.ARRAY));
+        columnarPage = new ColumnarPageDTO(List.of("id", "name", "cnpj", "cep", "uf", "suppliersIds"),
+                pageDTO.content(), pageDTO.number(), pageDTO.size(), pageDTO.totalElements(), pageDTO.totalPages());
+    }
+
+    @TearDown
+    public void printSizes() throws IOException {
+        System.out.printf("%nBytes for %d companies: page=%d (gzip %d), pageDTO=%d (gzip %d), columnar=%d (gzip %d)%n",
+                pageSize,
+                serializePage().length, serializeAndCompressPage().length,
+                serializePageDTO().length, serializeAndCompressPageDTO().length,
+                serializeColumnar().length, serializeAndCompressColumnar().length);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializePageDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageDTO);
+    }
+
+    @Benchmark
+    public byte[] serializeColumnar() throws JsonProcessingException {
+        return columnarMapper.writeValueAsBytes(columnarPage);
+    }
+
+    @Benchmark
+    public byte[] serializeAndCompressPage() throws IOException {
+        return gzip(objectMapper, page);
+    }
+
+    @Benchmark
+    public byte[] serializeAndCompressPageDTO() throws IOException {
+        return gzip(objectMapper, pageDTO);
+    }
+
+    @Benchmark
+    public byte[] serializeAndCompressColumnar() throws IOException {
+        return gzip(columnarMapper, columnarPage);
+    }
+
+    private static byte[] gzip(ObjectMapper mapper, Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(gzip, value);
+        }
+
+        return bytes.toByteArray();
+    }
+}
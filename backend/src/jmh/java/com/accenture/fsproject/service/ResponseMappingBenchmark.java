@@ -0,0 +1,106 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.dto.company.CompanyResponseDTO;
+import com.accenture.fsproject.dto.company.CompanyResponseDetailsDTO;
+import com.accenture.fsproject.dto.supplier.SupplierResponseDetailsDTO;
+import com.accenture.fsproject.model.Company;
+import com.accenture.fsproject.model.Supplier;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import com.accenture.fsproject.model.enums.SupplierType;
+import com.accenture.fsproject.repository.CompanyRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the service mappers for an entity linked to {@code associations} companies or suppliers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseMappingBenchmark {
+
+    @Param({"5", "100"})
+    private int associations;
+
+    private CompanyRow companyRow;
+    private Set<Long> suppliersIds;
+    private Company company;
+    private Supplier supplier;
+
+    @Setup
+    public void setUp() {
+        companyRow = new CompanyRow(1L, "Company A", "90730183000193", "49042210", FederativeUnit.SE);
+        suppliersIds = new HashSet<>();
+
+        company = new Company();
+        company.setId(1L);
+        company.setName("Company A");
+        company.setCnpj("90730183000193");
+        company.setCep("49042210");
+        company.setUf(FederativeUnit.SE);
+
+        supplier = new Supplier();
+        supplier.setId(1L);
+        supplier.setName("Supplier 1");
+        supplier.setType(SupplierType.PF);
+        supplier.setCpfCnpj("61301162094");
+        supplier.setRg("264504586");
+        supplier.setBirthdate(LocalDate.of(1998, 1, 1));
+        supplier.setEmail("supplier1@mail.com");
+        supplier.setCep("86709224");
+        supplier.setUf(FederativeUnit.PR);
+
+        for (long i = 1; i <= associations; i++) {
+            suppliersIds.add(i);
+
+            Supplier linkedSupplier = new Supplier();
+            linkedSupplier.setId(i);
+            linkedSupplier.setName("Supplier " + i);
+            linkedSupplier.setType(SupplierType.PJ);
+            linkedSupplier.setCpfCnpj(String.format("%014d", i));
+            linkedSupplier.setCep("22783230");
+            linkedSupplier.setUf(FederativeUnit.RJ);
+            company.getSuppliers().add(linkedSupplier);
+
+            Company linkedCompany = new Company();
+            linkedCompany.setId(i);
+            linkedCompany.setName("Company " + i);
+            linkedCompany.setCnpj(String.format("%014d", i));
+            linkedCompany.setCep("93893970");
+            linkedCompany.setUf(FederativeUnit.RS);
+            supplier.getCompanies().add(linkedCompany);
+        }
+    }
+
+    @Benchmark
+    public CompanyResponseDTO toCompanyResponseDTO() {
+        return CompanyService.toCompanyResponseDTO(companyRow, suppliersIds);
+    }
+
+    @Benchmark
+    public CompanyResponseDetailsDTO toCompanyResponseDetailsDTO() {
+        return CompanyService.toCompanyResponseDetailsDTO(company);
+    }
+
+    @Benchmark
+    public SupplierResponseDetailsDTO toSupplierResponseDetailsDTO() {
+        return SupplierService.toSupplierResponseDetailsDTO(supplier);
+    }
+}
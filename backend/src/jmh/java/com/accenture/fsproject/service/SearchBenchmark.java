@@ -0,0 +1,106 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.FsprojectApplication;
+import com.accenture.fsproject.dto.company.CompanyResponseDTO;
+import com.accenture.fsproject.dto.page.CursorPageDTO;
+import com.accenture.fsproject.model.enums.SearchType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link CompanyService#search} against the in-memory H2 database of the {@code test} profile,
+ * seeded with 10,000 companies, 2,000 suppliers and 5 suppliers per company. H2 has none of the PostgreSQL
+ * search indexes, so this tracks the application side of the search path rather than query plans.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    private static final int COMPANIES = 10_000;
+    private static final int SUPPLIERS = 2_000;
+    private static final int SUPPLIERS_PER_COMPANY = 5;
+
+    @Param({"GENERAL", "NAME", "CPF_CNPJ"})
+    private SearchType type;
+
+    private ConfigurableApplicationContext context;
+    private CompanyService companyService;
+    private String query;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(FsprojectApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.devtools.restart.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+
+        companyService = context.getBean(CompanyService.class);
+        seed(context.getBean(JdbcTemplate.class));
+
+        query = type == SearchType.CPF_CNPJ ? "0000000001" : "company 12";
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> companies = new ArrayList<>();
+        for (int i = 1; i <= COMPANIES; i++) {
+            companies.add(new Object[]{"Company " + i, String.format("%014d", i)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO company (name, cnpj, cep, uf) VALUES (?, ?, '49042210', 'SE')", companies);
+
+        List<Object[]> suppliers = new ArrayList<>();
+        for (int i = 1; i <= SUPPLIERS; i++) {
+            suppliers.add(new Object[]{"Supplier " + i, String.format("%014d", i)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO supplier (name, pf_pj, cpf_cnpj, cep, uf) VALUES (?, 'PJ', ?, '22783230', 'RJ')",
+                suppliers);
+
+        jdbcTemplate.update("INSERT INTO company_supplier (company_id, supplier_id) " +
+                "SELECT c.id, s.id FROM company c JOIN supplier s " +
+                "ON MOD(c.id, " + SUPPLIERS + ") BETWEEN s.id - " + SUPPLIERS_PER_COMPANY + " AND s.id - 1");
+    }
+
+    @Benchmark
+    public Page<CompanyResponseDTO> searchPage() {
+        return companyService.search(query, type, PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public CursorPageDTO<CompanyResponseDTO> searchCursor() {
+        return companyService.search(query, type, null, 20);
+    }
+}
@@ -0,0 +1,72 @@
+package com.accenture.fsproject.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link CpfCnpjValidator}. Run with {@code -prof gc}: {@code gc.alloc.rate.norm} of the single
+ * document benchmarks should be 0 B/op.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CpfCnpjValidatorBenchmark {
+
+    private static final String[] DOCUMENTS = {
+            "61301162094", "613.011.620-94", "90730183000193", "90.730.183/0001-93", "61767128000170"
+    };
+
+    private String cpf;
+    private String formattedCnpj;
+    private String invalidCnpj;
+    private List<String> batch;
+
+    @Setup
+    public void setUp() {
+        cpf = "61301162094";
+        formattedCnpj = "90.730.183/0001-93";
+        invalidCnpj = "20361127000144";
+
+        batch = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            batch.add(i % 10 == 0 ? invalidCnpj : DOCUMENTS[i % DOCUMENTS.length]);
+        }
+    }
+
+    @Benchmark
+    public void validCpf() {
+        CpfCnpjValidator.valid(cpf);
+    }
+
+    @Benchmark
+    public void validFormattedCnpj() {
+        CpfCnpjValidator.valid(formattedCnpj);
+    }
+
+    @Benchmark
+    public boolean isValidInvalidCnpj() {
+        return CpfCnpjValidator.isValid(invalidCnpj);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BitSet validateAllThousand() {
+        return CpfCnpjValidator.validateAll(batch);
+    }
+}
@@ -0,0 +1,76 @@
+package com.accenture.fsproject.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param baseUrl        base URL of the ViaCep API
+ * @param cache          in-memory cache of resolved CEPs
+ * @param bulkhead       limit on concurrent ViaCep calls
+ * @param client         pooled HTTP client used to call ViaCep
+ * @param circuitBreaker fails ViaCep lookups fast while the upstream keeps failing
+ * @param batch          limits of batch CEP lookups
+ */
+@ConfigurationProperties(prefix = "cep")
+public record CepProperties(
+        @DefaultValue("https://viacep.com.br/ws") String baseUrl,
+        @DefaultValue Cache cache,
+        @DefaultValue Bulkhead bulkhead,
+        @DefaultValue Client client,
+        @DefaultValue CircuitBreaker circuitBreaker,
+        @DefaultValue Batch batch
+) {
+
+    /**
+     * @param maxSize     maximum number of CEPs kept in memory before the least recently used one is evicted
+     * @param ttl         how long a resolved CEP is served from memory
+     * @param negativeTtl how long a CEP reported as not found by ViaCep is remembered as invalid
+     */
+    public record Cache(
+            @DefaultValue("10000") int maxSize,
+            @DefaultValue("24h") Duration ttl,
+            @DefaultValue("5m") Duration negativeTtl
+    ) {}
+
+    /**
+     * @param maxConcurrentCalls maximum number of ViaCep calls in flight at once, across all requests
+     * @param maxWait            how long a lookup waits for a free slot before failing
+     */
+    public record Bulkhead(
+            @DefaultValue("20") int maxConcurrentCalls,
+            @DefaultValue("2s") Duration maxWait
+    ) {}
+
+    /**
+     * @param connectTimeout how long opening a connection, or leasing one from the pool, may take
+     * @param readTimeout    how long ViaCep may take to answer once the request is sent
+     * @param maxConnections maximum number of pooled keep-alive connections to ViaCep
+     * @param idleTimeout    how long an unused pooled connection is kept open
+     */
+    public record Client(
+            @DefaultValue("1s") Duration connectTimeout,
+            @DefaultValue("3s") Duration readTimeout,
+            @DefaultValue("20") int maxConnections,
+            @DefaultValue("30s") Duration idleTimeout
+    ) {}
+
+    /**
+     * @param failureThreshold consecutive failed ViaCep calls that open the circuit
+     * @param openDuration     how long calls fail fast before a single trial call is let through
+     */
+    public record CircuitBreaker(
+            @DefaultValue("5") int failureThreshold,
+            @DefaultValue("30s") Duration openDuration
+    ) {}
+
+    /**
+     * @param maxSize     maximum number of CEPs in one batch lookup
+     * @param parallelism maximum number of CEPs of one batch looked up on ViaCep at once
+     */
+    public record Batch(
+            @DefaultValue("1000") int maxSize,
+            @DefaultValue("8") int parallelism
+    ) {}
+}
@@ -0,0 +1,127 @@
+package com.accenture.fsproject.config;
+
+import com.accenture.fsproject.dto.page.ColumnarPageDTO;
+import com.accenture.fsproject.dto.page.PageDTO;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes {@link PageDTO} listings as a {@link ColumnarPageDTO} when the client asks for
+ * {@value #MEDIA_TYPE_VALUE}. Rows are serialized by Jackson with the array shape, so field formats such as
+ * dates stay the same as in the JSON representation.
+ * <p>
+ * It only answers explicit requests for its media type: {@code application/json} and wildcards keep the
+ * regular JSON, which is also why it must sit before the Jackson converter (that one accepts any
+ * {@code application/*+json}).
+ */
+public class ColumnarPageHttpMessageConverter extends AbstractGenericHttpMessageConverter<PageDTO<?>> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.fsproject.columnar+json";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, RowFormat> rowFormats = new ConcurrentHashMap<>();
+
+    public ColumnarPageHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MEDIA_TYPE);
+        this.objectMapper = objectMapper;
+    }
+
+    private record RowFormat(List<String> columns, ObjectWriter writer) {}
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PageDTO.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return mediaType != null && MEDIA_TYPE.equalsTypeAndSubtype(mediaType) && supports(clazz);
+    }
+
+    @Override
+    protected void writeInternal(PageDTO<?> page, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Class<?> rowClass = rowClass(page, type);
+
+        if (rowClass == null) {
+            write(objectMapper.writer(), new ColumnarPageDTO(List.of(), List.of(), page.number(), page.size(),
+                    page.totalElements(), page.totalPages()), outputMessage);
+            return;
+        }
+
+        RowFormat format = rowFormats.computeIfAbsent(rowClass, this::rowFormat);
+
+        write(format.writer(), new ColumnarPageDTO(format.columns(), page.content(), page.number(), page.size(),
+                page.totalElements(), page.totalPages()), outputMessage);
+    }
+
+    private void write(ObjectWriter writer, ColumnarPageDTO page, HttpOutputMessage outputMessage) throws IOException {
+        writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(outputMessage.getBody(), page);
+    }
+
+    private static Class<?> rowClass(PageDTO<?> page, Type type) {
+        Class<?> declared = type != null ? ResolvableType.forType(type).as(PageDTO.class).resolveGeneric(0) : null;
+
+        if (declared != null && declared != Object.class) return declared;
+
+        return page.content().isEmpty() ? null : page.content().getFirst().getClass();
+    }
+
+    private RowFormat rowFormat(Class<?> rowClass) {
+        try {
+            JsonSerializer<Object> serializer = objectMapper.getSerializerProviderInstance().findValueSerializer(rowClass);
+
+            if (!(serializer instanceof BeanSerializerBase bean)) {
+                throw new HttpMessageNotWritableException("Cannot write " + rowClass.getName() + " rows as columns.");
+            }
+
+            List<String> columns = new ArrayList<>();
+            for (Iterator<PropertyWriter> properties = bean.properties(); properties.hasNext(); ) {
+                columns.add(properties.next().getName());
+            }
+
+            ObjectMapper rowMapper = objectMapper.copy();
+            rowMapper.configOverride(rowClass).setFormat(JsonFormat.Value.forShape(JsonFormat.Shape.ARRAY));
+
+            return new RowFormat(List.copyOf(columns), rowMapper.writer());
+        } catch (JsonMappingException e) {
+            throw new HttpMessageNotWritableException("Cannot write " + rowClass.getName() + " rows as columns.", e);
+        }
+    }
+
+    @Override
+    public PageDTO<?> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar pages are write-only.", inputMessage);
+    }
+
+    @Override
+    protected PageDTO<?> readInternal(Class<? extends PageDTO<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar pages are write-only.", inputMessage);
+    }
+}
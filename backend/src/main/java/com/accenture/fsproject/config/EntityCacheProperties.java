@@ -0,0 +1,13 @@
+package com.accenture.fsproject.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled whether companies, suppliers and their associations are kept in the Hibernate second-level
+ *                cache, so detail views of hot entities are served without touching the database
+ */
+@ConfigurationProperties(prefix = "entity-cache")
+public record EntityCacheProperties(
+        @DefaultValue("false") boolean enabled
+) {}
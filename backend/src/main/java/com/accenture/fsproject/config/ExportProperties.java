@@ -0,0 +1,15 @@
+package com.accenture.fsproject.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param timeout how long a full NDJSON export may stream before it is cut off; other async requests keep the
+ *                default timeout
+ */
+@ConfigurationProperties(prefix = "bulk-export")
+public record ExportProperties(
+        @DefaultValue("30m") Duration timeout
+) {}
@@ -0,0 +1,12 @@
+package com.accenture.fsproject.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param chunkSize number of rows validated, checked for duplicates and inserted together by the bulk imports
+ */
+@ConfigurationProperties(prefix = "bulk-import")
+public record ImportProperties(
+        @DefaultValue("1000") int chunkSize
+) {}
@@ -1,17 +1,59 @@
 package com.accenture.fsproject.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
 @Configuration
 public class RestClientConfig {
 
+    /**
+     * Keep-alive connection pool to ViaCep, sized to the CEP bulkhead so a lookup that got a bulkhead slot
+     * never waits for a connection. Every call is bounded by the connect and read timeouts.
+     */
     @Bean
-    public RestClient cepRestClient() {
+    public CloseableHttpClient cepHttpClient(CepProperties cepProperties, MeterRegistry meterRegistry) {
+        CepProperties.Client client = cepProperties.client();
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(client.maxConnections())
+                .setMaxConnPerRoute(client.maxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(client.connectTimeout()))
+                        .setSocketTimeout(Timeout.of(client.readTimeout()))
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "cep").bindTo(meterRegistry);
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(client.connectTimeout()))
+                        .setResponseTimeout(Timeout.of(client.readTimeout()))
+                        .build())
+                .evictIdleConnections(TimeValue.of(client.idleTimeout()))
+                .evictExpiredConnections()
+                .build();
+    }
+
+    @Bean
+    public RestClient cepRestClient(CepProperties cepProperties, CloseableHttpClient cepHttpClient) {
         return RestClient
                 .builder()
-                .baseUrl("https://viacep.com.br/ws")
+                .baseUrl(cepProperties.baseUrl())
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(cepHttpClient))
                 .build();
     }
 }
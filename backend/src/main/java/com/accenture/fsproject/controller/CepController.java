@@ -6,9 +6,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/cep")
 @RequiredArgsConstructor
@@ -20,4 +25,9 @@ public class CepController {
     public ResponseEntity<CepResponseDTO> getFederativeUnit(@PathVariable String cep) {
         return ResponseEntity.ok(cepService.getCepInfo(cep));
     }
+
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, CepResponseDTO>> getFederativeUnits(@RequestBody List<String> ceps) {
+        return ResponseEntity.ok(cepService.getCepInfoBatch(ceps));
+    }
 }
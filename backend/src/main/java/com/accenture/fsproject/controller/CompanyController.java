@@ -1,19 +1,37 @@
 package com.accenture.fsproject.controller;
 
+import com.accenture.fsproject.config.ExportProperties;
 import com.accenture.fsproject.dto.company.CompanyCreateDTO;
 import com.accenture.fsproject.dto.company.CompanyResponseDTO;
 import com.accenture.fsproject.dto.company.CompanyResponseDetailsDTO;
+import com.accenture.fsproject.dto.company.CompanySuppliersDTO;
 import com.accenture.fsproject.dto.company.CompanyUpdateDTO;
+import com.accenture.fsproject.dto.imports.ImportReportDTO;
+import com.accenture.fsproject.dto.page.CursorPageDTO;
+import com.accenture.fsproject.dto.page.PageDTO;
+import com.accenture.fsproject.dto.supplier.SupplierSummaryDTO;
+import com.accenture.fsproject.model.enums.DetailView;
+import com.accenture.fsproject.model.enums.FederativeUnit;
 import com.accenture.fsproject.model.enums.SearchType;
+import com.accenture.fsproject.model.enums.SupplierType;
+import com.accenture.fsproject.service.CompanyExportService;
+import com.accenture.fsproject.service.CompanyImportService;
 import com.accenture.fsproject.service.CompanyService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/companies")
@@ -21,23 +39,75 @@ import org.springframework.web.bind.annotation.*;
 public class CompanyController {
 
     private final CompanyService companyService;
+    private final CompanyImportService companyImportService;
+    private final CompanyExportService companyExportService;
+    private final ExportProperties exportProperties;
 
     @GetMapping
-    public ResponseEntity<Page<CompanyResponseDTO>> findAll(@PageableDefault(size=5, page=0) Pageable pageable) {
-        return ResponseEntity.ok(companyService.findAll(pageable));
+    public ResponseEntity<PageDTO<CompanyResponseDTO>> findAll(
+            @PageableDefault(size=5, page=0) Pageable pageable,
+            WebRequest request) {
+        if (ConditionalRequests.listingNotModified(request, companyService.findListingETag())) return null;
+
+        return ResponseEntity.ok(PageDTO.of(companyService.findAll(pageable)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CompanyResponseDetailsDTO> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(companyService.findById(id));
+    public ResponseEntity<CompanyResponseDetailsDTO> findById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "FULL") DetailView view,
+            WebRequest request) {
+        Optional<String> etag = companyService.findDetailsETag(id, view);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) return null;
+
+        return ResponseEntity.ok(companyService.findById(id, view));
+    }
+
+    @GetMapping("/{id}/suppliers")
+    public ResponseEntity<CursorPageDTO<SupplierSummaryDTO>> findSuppliers(
+            @PathVariable Long id,
+            @RequestParam(required = false) SupplierType type,
+            @RequestParam(required = false) FederativeUnit uf,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        Optional<String> etag = companyService.findSuppliersETag(id);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) return null;
+
+        return ResponseEntity.ok(companyService.findSuppliers(id, type, uf, after, size));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<CompanyResponseDTO>> searchCompanies(
+    public ResponseEntity<PageDTO<CompanyResponseDTO>> searchCompanies(
             @RequestParam(required = false) String query,
             @RequestParam(defaultValue = "GENERAL") SearchType type,
-            @PageableDefault(size=5, page=0) Pageable pageable) {
-        return ResponseEntity.ok(companyService.search(query, type, pageable));
+            @PageableDefault(size=5, page=0) Pageable pageable,
+            WebRequest request) {
+        if (ConditionalRequests.listingNotModified(request, companyService.findListingETag())) return null;
+
+        return ResponseEntity.ok(PageDTO.of(companyService.search(query, type, pageable)));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<CompanyResponseDTO>> findAllByCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "5") int size,
+            WebRequest request) {
+        if (ConditionalRequests.listingNotModified(request, companyService.findListingETag())) return null;
+
+        return ResponseEntity.ok(companyService.findAll(after, size));
+    }
+
+    @GetMapping("/search/cursor")
+    public ResponseEntity<CursorPageDTO<CompanyResponseDTO>> searchCompaniesByCursor(
+            @RequestParam(required = false) String query,
+            @RequestParam(defaultValue = "GENERAL") SearchType type,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "5") int size,
+            WebRequest request) {
+        if (ConditionalRequests.listingNotModified(request, companyService.findListingETag())) return null;
+
+        return ResponseEntity.ok(companyService.search(query, type, after, size));
     }
 
     @PostMapping
@@ -45,11 +115,42 @@ public class CompanyController {
         return ResponseEntity.status(HttpStatus.CREATED).body(companyService.create(dto));
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReportDTO> importCsv(InputStream body) {
+        return ResponseEntity.ok(companyImportService.importCsv(body));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReportDTO> importNdjson(InputStream body) {
+        return ResponseEntity.ok(companyImportService.importNdjson(body));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> exportNdjson(HttpServletResponse response) {
+        return new WebAsyncTask<>(exportProperties.timeout().toMillis(), () -> {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            companyExportService.exportNdjson(response.getOutputStream());
+            return null;
+        });
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<CompanyResponseDetailsDTO> update(@PathVariable Long id, @Valid @RequestBody CompanyUpdateDTO dto) {
         return ResponseEntity.ok(companyService.update(id, dto));
     }
 
+    @PostMapping("/{id}/suppliers")
+    public ResponseEntity<Void> addSuppliers(@PathVariable Long id, @Valid @RequestBody CompanySuppliersDTO dto) {
+        companyService.addSuppliers(id, dto.suppliersIds());
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}/suppliers")
+    public ResponseEntity<Void> removeSuppliers(@PathVariable Long id, @RequestParam Set<Long> suppliersIds) {
+        companyService.removeSuppliers(id, suppliersIds);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         companyService.delete(id);
@@ -0,0 +1,22 @@
+package com.accenture.fsproject.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional GET for the listings. Offset pages can be served as JSON or as columnar JSON under the same URL
+ * and entity tag, so listing responses vary by {@code Accept} and a cache never answers one with the other.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {}
+
+    static boolean listingNotModified(WebRequest request, String etag) {
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+
+        return request.checkNotModified(etag);
+    }
+}
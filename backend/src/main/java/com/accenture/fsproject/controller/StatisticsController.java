@@ -0,0 +1,33 @@
+package com.accenture.fsproject.controller;
+
+import com.accenture.fsproject.dto.page.PageDTO;
+import com.accenture.fsproject.dto.statistics.CompanySupplierCountDTO;
+import com.accenture.fsproject.dto.statistics.UfStatisticsDTO;
+import com.accenture.fsproject.service.StatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/statistics")
+@RequiredArgsConstructor
+public class StatisticsController {
+
+    private final StatisticsService statisticsService;
+
+    @GetMapping("/ufs")
+    public ResponseEntity<List<UfStatisticsDTO>> findUfStatistics() {
+        return ResponseEntity.ok(statisticsService.findUfStatistics());
+    }
+
+    @GetMapping("/suppliers-per-company")
+    public ResponseEntity<PageDTO<CompanySupplierCountDTO>> findSupplierCounts(@PageableDefault(size=5, page=0) Pageable pageable) {
+        return ResponseEntity.ok(PageDTO.of(statisticsService.findSupplierCounts(pageable)));
+    }
+}
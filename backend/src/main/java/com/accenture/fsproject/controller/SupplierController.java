@@ -1,19 +1,34 @@
 package com.accenture.fsproject.controller;
 
+import com.accenture.fsproject.config.ExportProperties;
+import com.accenture.fsproject.dto.company.CompanySummaryDTO;
+import com.accenture.fsproject.dto.imports.ImportReportDTO;
+import com.accenture.fsproject.dto.page.CursorPageDTO;
+import com.accenture.fsproject.dto.page.PageDTO;
 import com.accenture.fsproject.dto.supplier.SupplierCreateDTO;
 import com.accenture.fsproject.dto.supplier.SupplierResponseDTO;
 import com.accenture.fsproject.dto.supplier.SupplierResponseDetailsDTO;
 import com.accenture.fsproject.dto.supplier.SupplierUpdateDTO;
+import com.accenture.fsproject.model.enums.DetailView;
+import com.accenture.fsproject.model.enums.FederativeUnit;
 import com.accenture.fsproject.model.enums.SearchType;
+import com.accenture.fsproject.service.SupplierExportService;
+import com.accenture.fsproject.service.SupplierImportService;
 import com.accenture.fsproject.service.SupplierService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.InputStream;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/suppliers")
@@ -21,23 +36,74 @@ import org.springframework.web.bind.annotation.*;
 public class SupplierController {
 
     private final SupplierService supplierService;
+    private final SupplierImportService supplierImportService;
+    private final SupplierExportService supplierExportService;
+    private final ExportProperties exportProperties;
 
     @GetMapping
-    public ResponseEntity<Page<SupplierResponseDTO>> findAll(@PageableDefault(size=5, page=0) Pageable pageable) {
-        return ResponseEntity.ok(supplierService.findAll(pageable));
+    public ResponseEntity<PageDTO<SupplierResponseDTO>> findAll(
+            @PageableDefault(size=5, page=0) Pageable pageable,
+            WebRequest request) {
+        if (ConditionalRequests.listingNotModified(request, supplierService.findListingETag())) return null;
+
+        return ResponseEntity.ok(PageDTO.of(supplierService.findAll(pageable)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<SupplierResponseDetailsDTO> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(supplierService.findById(id));
+    public ResponseEntity<SupplierResponseDetailsDTO> findById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "FULL") DetailView view,
+            WebRequest request) {
+        Optional<String> etag = supplierService.findDetailsETag(id, view);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) return null;
+
+        return ResponseEntity.ok(supplierService.findById(id, view));
+    }
+
+    @GetMapping("/{id}/companies")
+    public ResponseEntity<CursorPageDTO<CompanySummaryDTO>> findCompanies(
+            @PathVariable Long id,
+            @RequestParam(required = false) FederativeUnit uf,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        Optional<String> etag = supplierService.findCompaniesETag(id);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) return null;
+
+        return ResponseEntity.ok(supplierService.findCompanies(id, uf, after, size));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<SupplierResponseDTO>> searchSuppliers(
+    public ResponseEntity<PageDTO<SupplierResponseDTO>> searchSuppliers(
             @RequestParam(required = false) String query,
             @RequestParam(defaultValue = "GENERAL")SearchType type,
-            @PageableDefault(size=5, page=0) Pageable pageable) {
-        return ResponseEntity.ok(supplierService.search(query, type, pageable));
+            @PageableDefault(size=5, page=0) Pageable pageable,
+            WebRequest request) {
+        if (ConditionalRequests.listingNotModified(request, supplierService.findListingETag())) return null;
+
+        return ResponseEntity.ok(PageDTO.of(supplierService.search(query, type, pageable)));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<SupplierResponseDTO>> findAllByCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "5") int size,
+            WebRequest request) {
+        if (ConditionalRequests.listingNotModified(request, supplierService.findListingETag())) return null;
+
+        return ResponseEntity.ok(supplierService.findAll(after, size));
+    }
+
+    @GetMapping("/search/cursor")
+    public ResponseEntity<CursorPageDTO<SupplierResponseDTO>> searchSuppliersByCursor(
+            @RequestParam(required = false) String query,
+            @RequestParam(defaultValue = "GENERAL") SearchType type,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "5") int size,
+            WebRequest request) {
+        if (ConditionalRequests.listingNotModified(request, supplierService.findListingETag())) return null;
+
+        return ResponseEntity.ok(supplierService.search(query, type, after, size));
     }
 
     @PostMapping
@@ -45,6 +111,25 @@ public class SupplierController {
         return ResponseEntity.status(HttpStatus.CREATED).body(supplierService.create(dto));
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReportDTO> importCsv(InputStream body) {
+        return ResponseEntity.ok(supplierImportService.importCsv(body));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReportDTO> importNdjson(InputStream body) {
+        return ResponseEntity.ok(supplierImportService.importNdjson(body));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> exportNdjson(HttpServletResponse response) {
+        return new WebAsyncTask<>(exportProperties.timeout().toMillis(), () -> {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            supplierExportService.exportNdjson(response.getOutputStream());
+            return null;
+        });
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<SupplierResponseDetailsDTO> update(@PathVariable Long id, @Valid @RequestBody SupplierUpdateDTO dto) {
         return ResponseEntity.ok(supplierService.update(id, dto));
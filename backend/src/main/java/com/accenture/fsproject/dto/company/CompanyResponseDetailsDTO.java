@@ -2,6 +2,7 @@ package com.accenture.fsproject.dto.company;
 
 import com.accenture.fsproject.dto.supplier.SupplierSummaryDTO;
 import com.accenture.fsproject.model.enums.FederativeUnit;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.util.Set;
 
@@ -11,5 +12,6 @@ public record CompanyResponseDetailsDTO(
         String cnpj,
         String cep,
         FederativeUnit uf,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
         Set<SupplierSummaryDTO> suppliers
 ) {}
@@ -3,6 +3,7 @@ package com.accenture.fsproject.dto.company;
 import com.accenture.fsproject.model.enums.FederativeUnit;
 
 public record CompanySummaryDTO(
+        Long id,
         String name,
         String cnpj,
         String cep,
@@ -0,0 +1,10 @@
+package com.accenture.fsproject.dto.company;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.Set;
+
+public record CompanySuppliersDTO(
+        @NotEmpty(message = "\"Suppliers IDs\" are required.")
+        Set<Long> suppliersIds
+) {}
@@ -0,0 +1,17 @@
+package com.accenture.fsproject.dto.imports;
+
+import com.accenture.fsproject.model.enums.ImportRowStatus;
+
+import java.util.List;
+
+public record ImportReportDTO(
+        int total,
+        int imported,
+        int failed,
+        List<ImportRowResultDTO> rows
+) {
+    public static ImportReportDTO of(List<ImportRowResultDTO> rows) {
+        int imported = (int) rows.stream().filter(row -> row.status() == ImportRowStatus.IMPORTED).count();
+        return new ImportReportDTO(rows.size(), imported, rows.size() - imported, rows);
+    }
+}
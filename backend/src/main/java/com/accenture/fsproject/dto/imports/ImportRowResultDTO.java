@@ -0,0 +1,10 @@
+package com.accenture.fsproject.dto.imports;
+
+import com.accenture.fsproject.model.enums.ImportRowStatus;
+
+public record ImportRowResultDTO(
+        long line,
+        String document,
+        ImportRowStatus status,
+        String message
+) {}
@@ -0,0 +1,16 @@
+package com.accenture.fsproject.dto.page;
+
+import java.util.List;
+
+/**
+ * Columnar wire format of a {@link PageDTO}: the field names are sent once in {@code columns} and every row is
+ * an array of values in that order.
+ */
+public record ColumnarPageDTO(
+        List<String> columns,
+        List<?> rows,
+        int number,
+        int size,
+        long totalElements,
+        int totalPages
+) {}
@@ -0,0 +1,9 @@
+package com.accenture.fsproject.dto.page;
+
+import java.util.List;
+
+public record CursorPageDTO<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext
+) {}
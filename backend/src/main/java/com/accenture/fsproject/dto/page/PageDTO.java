@@ -0,0 +1,22 @@
+package com.accenture.fsproject.dto.page;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Wire format of the offset listings. Unlike a serialized {@link Page}, it carries no {@code pageable} and
+ * {@code sort} blocks and does not change shape between Spring Data releases.
+ */
+public record PageDTO<T>(
+        List<T> content,
+        int number,
+        int size,
+        long totalElements,
+        int totalPages
+) {
+    public static <T> PageDTO<T> of(Page<T> page) {
+        return new PageDTO<>(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(),
+                page.getTotalPages());
+    }
+}
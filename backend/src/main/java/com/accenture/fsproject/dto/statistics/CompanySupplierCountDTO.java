@@ -0,0 +1,7 @@
+package com.accenture.fsproject.dto.statistics;
+
+public record CompanySupplierCountDTO(
+        Long companyId,
+        String name,
+        long supplierCount
+) {}
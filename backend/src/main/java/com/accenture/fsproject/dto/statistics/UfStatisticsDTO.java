@@ -0,0 +1,10 @@
+package com.accenture.fsproject.dto.statistics;
+
+import com.accenture.fsproject.model.enums.FederativeUnit;
+
+public record UfStatisticsDTO(
+        FederativeUnit uf,
+        long companies,
+        long pfSuppliers,
+        long pjSuppliers
+) {}
@@ -3,6 +3,7 @@ package com.accenture.fsproject.dto.supplier;
 import com.accenture.fsproject.dto.company.CompanySummaryDTO;
 import com.accenture.fsproject.model.enums.FederativeUnit;
 import com.accenture.fsproject.model.enums.SupplierType;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.time.LocalDate;
 import java.util.Set;
@@ -17,5 +18,6 @@ public record SupplierResponseDetailsDTO(
         String email,
         String cep,
         FederativeUnit uf,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
         Set<CompanySummaryDTO> companies
 ) {}
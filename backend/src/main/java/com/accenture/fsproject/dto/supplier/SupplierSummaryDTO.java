@@ -6,6 +6,7 @@ import com.accenture.fsproject.model.enums.SupplierType;
 import java.time.LocalDate;
 
 public record SupplierSummaryDTO(
+        Long id,
         String name,
         SupplierType type,
         String cpfCnpj,
@@ -0,0 +1,7 @@
+package com.accenture.fsproject.exception;
+
+public class CepServiceUnavailableException extends RuntimeException {
+    public CepServiceUnavailableException(String message) {
+        super(message);
+    }
+}
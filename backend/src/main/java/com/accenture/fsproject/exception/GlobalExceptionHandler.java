@@ -22,6 +22,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
+    @ExceptionHandler(CepServiceUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleCepServiceUnavailable(CepServiceUnavailableException e) {
+        Map<String, Object> body = Map.of(
+                "status", HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "message", e.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
     @ExceptionHandler({BusinessLogicException.class, IllegalArgumentException.class, RuntimeException.class})
     public ResponseEntity<Map<String, Object>> handleBusinessLogic(RuntimeException e) {
         Map<String, Object> body = Map.of(
@@ -3,11 +3,16 @@ package com.accenture.fsproject.model;
 import com.accenture.fsproject.model.enums.FederativeUnit;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name="company")
 @Getter
 @Setter
@@ -32,6 +37,12 @@ public class Company {
     @Column(name = "uf", nullable = false, length = 2)
     private FederativeUnit uf;
 
+    // Bumped on every update by a trigger on PostgreSQL; mapped read-only so it can be read for ETags.
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false, insertable = false, updatable = false)
+    private long version;
+
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany
     @JoinTable(
             name = "company_supplier",
@@ -4,12 +4,17 @@ import com.accenture.fsproject.model.enums.FederativeUnit;
 import com.accenture.fsproject.model.enums.SupplierType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name="supplier")
 @Getter
 @Setter
@@ -48,6 +53,12 @@ public class Supplier {
     @Column(name = "uf", nullable = false, length = 2)
     private FederativeUnit uf;
 
+    // Bumped on every update by a trigger on PostgreSQL; mapped read-only so it can be read for ETags.
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false, insertable = false, updatable = false)
+    private long version;
+
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany(mappedBy = "suppliers")
     @ToString.Exclude
     private Set<Company> companies = new HashSet<>();
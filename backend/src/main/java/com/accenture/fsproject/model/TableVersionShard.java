@@ -0,0 +1,32 @@
+package com.accenture.fsproject.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * One shard of the per-table version counters, bumped by statement-level triggers on PostgreSQL. A table's
+ * version is the sum of its column over every shard.
+ */
+@Entity
+@Table(name = "table_version")
+@Getter
+@NoArgsConstructor
+@ToString
+public class TableVersionShard {
+
+    @Id
+    private Short shard;
+
+    @ColumnDefault("0")
+    @Column(name = "company", nullable = false)
+    private long company;
+
+    @ColumnDefault("0")
+    @Column(name = "supplier", nullable = false)
+    private long supplier;
+
+    @ColumnDefault("0")
+    @Column(name = "company_supplier", nullable = false)
+    private long companySupplier;
+}
@@ -0,0 +1,6 @@
+package com.accenture.fsproject.model.enums;
+
+public enum DetailView {
+    FULL,
+    LIGHT
+}
@@ -3,5 +3,6 @@ package com.accenture.fsproject.model.enums;
 public enum SearchType {
     GENERAL,
     NAME,
-    CPF_CNPJ
+    CPF_CNPJ,
+    CPF_CNPJ_PREFIX
 }
@@ -0,0 +1,56 @@
+package com.accenture.fsproject.repository;
+
+import com.accenture.fsproject.model.Company;
+import com.accenture.fsproject.model.Supplier;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evicts cached {@code Company.suppliers} and {@code Supplier.companies} collections from the second-level
+ * cache after {@code company_supplier} changes Hibernate does not see: JDBC writes and database cascades.
+ * <p>
+ * Inside a transaction the eviction runs after commit, so a concurrent reader cannot cache the old links
+ * again between the eviction and the commit. Without a second-level cache every call is a no-op.
+ */
+@Component
+@RequiredArgsConstructor
+public class AssociationCacheEvictor {
+
+    private static final String COMPANY_SUPPLIERS = Company.class.getName() + ".suppliers";
+    private static final String SUPPLIER_COMPANIES = Supplier.class.getName() + ".companies";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictLinks(Collection<Long> companiesIds, Collection<Long> suppliersIds) {
+        if (companiesIds.isEmpty() && suppliersIds.isEmpty()) return;
+
+        List<Long> companies = List.copyOf(companiesIds);
+        List<Long> suppliers = List.copyOf(suppliersIds);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(companies, suppliers);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(companies, suppliers);
+            }
+        });
+    }
+
+    private void evict(List<Long> companiesIds, List<Long> suppliersIds) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+
+        companiesIds.forEach(id -> cache.evictCollectionData(COMPANY_SUPPLIERS, id));
+        suppliersIds.forEach(id -> cache.evictCollectionData(SUPPLIER_COMPANIES, id));
+    }
+}
@@ -0,0 +1,95 @@
+package com.accenture.fsproject.repository;
+
+import com.accenture.fsproject.dto.company.CompanyResponseDTO;
+import com.accenture.fsproject.model.Company;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access to the {@code company} table for bulk paths that would be too slow through JPA.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CompanyJdbcRepository {
+
+    private static final String INSERT_COMPANY =
+            "INSERT INTO company (name, cnpj, cep, uf) VALUES (?, ?, ?, ?)";
+
+    // Each CNPJ is probed by a scalar subquery, which PostgreSQL never turns into a join, so every probe is an
+    // equality on the unique index. As an IN list the planner may pick the trigram index instead, and while an
+    // import keeps its pending list full one lookup can take seconds.
+    private static final String SELECT_EXISTING_CNPJS =
+            "SELECT d.cnpj FROM unnest(?) AS d(cnpj) " +
+            "WHERE (SELECT c.id FROM company c WHERE c.cnpj = d.cnpj) IS NOT NULL";
+
+    private static final String SELECT_COMPANIES_WITH_SUPPLIERS =
+            "SELECT c.id, c.name, c.cnpj, c.cep, c.uf, cs.supplier_id " +
+            "FROM company c LEFT JOIN company_supplier cs ON cs.company_id = c.id " +
+            "ORDER BY c.id";
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<Company> companies) {
+        if (companies.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(INSERT_COMPANY, companies, companies.size(), (ps, company) -> {
+            ps.setString(1, company.getName());
+            ps.setString(2, company.getCnpj());
+            ps.setString(3, company.getCep());
+            ps.setString(4, company.getUf().name());
+        });
+    }
+
+    /**
+     * @return the given CNPJs that already belong to a company
+     */
+    public Set<String> findExistingCnpjs(Collection<String> cnpjs) {
+        if (cnpjs.isEmpty()) return Set.of();
+
+        return new HashSet<>(jdbcTemplate.queryForList(SELECT_EXISTING_CNPJS, String.class, (Object) cnpjs.toArray(String[]::new)));
+    }
+
+    /**
+     * Hands every company over with its supplier IDs, in ID order, reading through a forward-only cursor.
+     * Must run inside a transaction: PostgreSQL only honours the fetch size with auto-commit off, and would
+     * otherwise materialize the whole result set in memory.
+     */
+    public void streamAllWithSuppliersIds(Consumer<CompanyResponseDTO> consumer) {
+        CompanyResponseDTO[] current = new CompanyResponseDTO[1];
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_COMPANIES_WITH_SUPPLIERS,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            long id = rs.getLong("id");
+
+            if (current[0] == null || current[0].id() != id) {
+                if (current[0] != null) consumer.accept(current[0]);
+
+                String uf = rs.getString("uf");
+                current[0] = new CompanyResponseDTO(id, rs.getString("name"), rs.getString("cnpj"),
+                        rs.getString("cep"), uf != null ? FederativeUnit.valueOf(uf) : null, new HashSet<>());
+            }
+
+            long supplierId = rs.getLong("supplier_id");
+            if (!rs.wasNull()) current[0].suppliersIds().add(supplierId);
+        });
+
+        if (current[0] != null) consumer.accept(current[0]);
+    }
+}
@@ -1,6 +1,9 @@
 package com.accenture.fsproject.repository;
 
+import com.accenture.fsproject.dto.supplier.SupplierSummaryDTO;
 import com.accenture.fsproject.model.Company;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,17 +11,85 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, Long> {
+    String COMPANY_ROW = "new com.accenture.fsproject.repository.CompanyRow(c.id, c.name, c.cnpj, c.cep, c.uf)";
+
     boolean existsByCnpj(String cnpj);
-    Page<Company> findByNameContainingIgnoreCase(String name, Pageable pageable);
-    Page<Company> findByCnpjContaining(String cnpj, Pageable pageable);
-
-    @Query("SELECT c FROM Company c " +
-            "WHERE :keyword IS NULL OR " +
-            "LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "c.cnpj LIKE CONCAT('%', :keyword, '%')")
-    Page<Company> findByNameOrCnpj(@Param("keyword") String keyword, Pageable pageable);
+
+    boolean existsByCnpjStartingWith(String prefix);
+
+    @Query(value = "SELECT " + COMPANY_ROW + " FROM Company c",
+            countQuery = "SELECT COUNT(c) FROM Company c")
+    Page<CompanyRow> findAllRows(Pageable pageable);
+
+    @Query("SELECT " + COMPANY_ROW + " FROM Company c WHERE c.id = :id")
+    Optional<CompanyRow> findRowById(@Param("id") Long id);
+
+    @Query(value = "SELECT " + COMPANY_ROW + " FROM Company c " +
+            "WHERE LOWER(c.name) LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT COUNT(c) FROM Company c " +
+            "WHERE LOWER(c.name) LIKE :pattern ESCAPE '\\'")
+    Page<CompanyRow> findByNameLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = "SELECT " + COMPANY_ROW + " FROM Company c " +
+            "WHERE c.cnpj LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT COUNT(c) FROM Company c " +
+            "WHERE c.cnpj LIKE :pattern ESCAPE '\\'")
+    Page<CompanyRow> findByCnpjLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = "SELECT " + COMPANY_ROW + " FROM Company c " +
+            "WHERE LOWER(c.name) LIKE :pattern ESCAPE '\\' OR " +
+            "c.cnpj LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT COUNT(c) FROM Company c " +
+            "WHERE LOWER(c.name) LIKE :pattern ESCAPE '\\' OR " +
+            "c.cnpj LIKE :pattern ESCAPE '\\'")
+    Page<CompanyRow> findByNameOrCnpjLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("SELECT " + COMPANY_ROW + " FROM Company c WHERE c.id > :afterId ORDER BY c.id")
+    List<CompanyRow> findRowsAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT " + COMPANY_ROW + " FROM Company c " +
+            "WHERE LOWER(c.name) LIKE :pattern ESCAPE '\\' AND c.id > :afterId ORDER BY c.id")
+    List<CompanyRow> findByNameLikeAfter(@Param("pattern") String pattern, @Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT " + COMPANY_ROW + " FROM Company c " +
+            "WHERE c.cnpj LIKE :pattern ESCAPE '\\' AND c.id > :afterId ORDER BY c.id")
+    List<CompanyRow> findByCnpjLikeAfter(@Param("pattern") String pattern, @Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT " + COMPANY_ROW + " FROM Company c " +
+            "WHERE (LOWER(c.name) LIKE :pattern ESCAPE '\\' OR c.cnpj LIKE :pattern ESCAPE '\\') " +
+            "AND c.id > :afterId ORDER BY c.id")
+    List<CompanyRow> findByNameOrCnpjLikeAfter(@Param("pattern") String pattern, @Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT new com.accenture.fsproject.dto.supplier.SupplierSummaryDTO(" +
+            "s.id, s.name, s.type, s.cpfCnpj, s.rg, s.birthdate, s.email, s.cep, s.uf) " +
+            "FROM Company c JOIN c.suppliers s " +
+            "WHERE c.id = :companyId")
+    List<SupplierSummaryDTO> findSupplierSummaries(@Param("companyId") Long companyId);
+
+    @Query("SELECT c.version FROM Company c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.accenture.fsproject.repository.LinkedVersions(" +
+            "COUNT(s), COALESCE(SUM(s.id), 0L), COALESCE(SUM(s.version), 0L)) " +
+            "FROM Company c JOIN c.suppliers s " +
+            "WHERE c.id = :id")
+    LinkedVersions findSupplierVersions(@Param("id") Long id);
+
+    @Query("SELECT c.id FROM Company c WHERE c.id IN :ids AND c.uf = :uf ORDER BY c.id")
+    List<Long> findIdsByUf(@Param("ids") Collection<Long> ids, @Param("uf") FederativeUnit uf, Limit limit);
+
+    @Query("SELECT c.id FROM Company c WHERE c.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT cs.company_id AS companyId, cs.supplier_id AS supplierId " +
+            "FROM company_supplier cs " +
+            "WHERE cs.company_id IN (:companiesIds)", nativeQuery = true)
+    List<CompanySupplierLink> findSupplierLinks(@Param("companiesIds") Collection<Long> companiesIds);
 }
@@ -0,0 +1,14 @@
+package com.accenture.fsproject.repository;
+
+import com.accenture.fsproject.model.enums.FederativeUnit;
+
+/**
+ * Read-only projection of the {@code company} columns, selected without hydrating a managed {@code Company}.
+ */
+public record CompanyRow(
+        Long id,
+        String name,
+        String cnpj,
+        String cep,
+        FederativeUnit uf
+) {}
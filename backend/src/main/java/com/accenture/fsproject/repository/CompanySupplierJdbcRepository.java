@@ -0,0 +1,195 @@
+package com.accenture.fsproject.repository;
+
+import com.accenture.fsproject.dto.company.CompanySummaryDTO;
+import com.accenture.fsproject.dto.supplier.SupplierSummaryDTO;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import com.accenture.fsproject.model.enums.SupplierType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and writes rows of the {@code company_supplier} join table directly, without loading either side of the
+ * association into the persistence context. The second-level cache of the touched associations is evicted,
+ * since Hibernate does not see these writes.
+ * <p>
+ * Association pages are keyset-paginated on the join table's own keys, so a page of a company with tens of
+ * thousands of suppliers costs the same as the first one.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CompanySupplierJdbcRepository {
+
+    public record Link(long companyId, long supplierId) {}
+
+    private static final String INSERT_LINK =
+            "INSERT INTO company_supplier (company_id, supplier_id) VALUES (?, ?)";
+
+    private static final String INSERT_COMPANY_SUPPLIERS =
+            "INSERT INTO company_supplier (company_id, supplier_id) " +
+            "SELECT ?, s.id FROM supplier s WHERE s.id = ANY (?) " +
+            "ON CONFLICT DO NOTHING";
+
+    private static final String DELETE_COMPANY_SUPPLIERS =
+            "DELETE FROM company_supplier WHERE company_id = ? AND supplier_id = ANY (?)";
+
+    private static final String INSERT_SUPPLIER_COMPANIES =
+            "INSERT INTO company_supplier (company_id, supplier_id) " +
+            "SELECT c.id, ? FROM company c WHERE c.id = ANY (?) " +
+            "ON CONFLICT DO NOTHING";
+
+    private static final String DELETE_SUPPLIER_COMPANIES =
+            "DELETE FROM company_supplier WHERE supplier_id = ? AND company_id = ANY (?)";
+
+    private static final String SELECT_COMPANY_SUPPLIERS =
+            "SELECT s.id, s.name, s.pf_pj, s.cpf_cnpj, s.rg, s.birthdate, s.email, s.cep, s.uf " +
+            "FROM company_supplier cs JOIN supplier s ON s.id = cs.supplier_id " +
+            "WHERE cs.company_id = ? AND cs.supplier_id > ?";
+
+    private static final String SELECT_SUPPLIER_COMPANIES =
+            "SELECT c.id, c.name, c.cnpj, c.cep, c.uf " +
+            "FROM company_supplier cs JOIN company c ON c.id = cs.company_id " +
+            "WHERE cs.supplier_id = ? AND cs.company_id > ?";
+
+    private static final RowMapper<SupplierSummaryDTO> SUPPLIER_SUMMARY = (rs, rowNum) -> new SupplierSummaryDTO(
+            rs.getLong("id"),
+            rs.getString("name"),
+            SupplierType.valueOf(rs.getString("pf_pj")),
+            rs.getString("cpf_cnpj"),
+            rs.getString("rg"),
+            rs.getObject("birthdate", LocalDate.class),
+            rs.getString("email"),
+            rs.getString("cep"),
+            FederativeUnit.valueOf(rs.getString("uf")));
+
+    private static final RowMapper<CompanySummaryDTO> COMPANY_SUMMARY = (rs, rowNum) -> new CompanySummaryDTO(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("cnpj"),
+            rs.getString("cep"),
+            FederativeUnit.valueOf(rs.getString("uf")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AssociationCacheEvictor associationCacheEvictor;
+
+    public void insertAll(List<Link> links) {
+        if (links.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(INSERT_LINK, links, links.size(), (ps, link) -> {
+            ps.setLong(1, link.companyId());
+            ps.setLong(2, link.supplierId());
+        });
+
+        associationCacheEvictor.evictLinks(
+                links.stream().map(Link::companyId).collect(Collectors.toSet()),
+                links.stream().map(Link::supplierId).collect(Collectors.toSet()));
+    }
+
+    /**
+     * Links the company to the given suppliers in one statement. IDs of missing suppliers and links that
+     * already exist are skipped.
+     *
+     * @return the number of links created
+     */
+    public int insertSuppliers(long companyId, Collection<Long> suppliersIds) {
+        if (suppliersIds.isEmpty()) return 0;
+
+        int inserted = jdbcTemplate.update(INSERT_COMPANY_SUPPLIERS, companyId, suppliersIds.toArray(Long[]::new));
+
+        if (inserted > 0) associationCacheEvictor.evictLinks(List.of(companyId), suppliersIds);
+        return inserted;
+    }
+
+    /**
+     * Unlinks the company from the given suppliers in one statement.
+     *
+     * @return the number of links removed
+     */
+    public int deleteSuppliers(long companyId, Collection<Long> suppliersIds) {
+        if (suppliersIds.isEmpty()) return 0;
+
+        int deleted = jdbcTemplate.update(DELETE_COMPANY_SUPPLIERS, companyId, suppliersIds.toArray(Long[]::new));
+
+        if (deleted > 0) associationCacheEvictor.evictLinks(List.of(companyId), suppliersIds);
+        return deleted;
+    }
+
+    /**
+     * Links the supplier to the given companies in one statement. IDs of missing companies and links that
+     * already exist are skipped.
+     *
+     * @return the number of links created
+     */
+    public int insertCompanies(long supplierId, Collection<Long> companiesIds) {
+        if (companiesIds.isEmpty()) return 0;
+
+        int inserted = jdbcTemplate.update(INSERT_SUPPLIER_COMPANIES, supplierId, companiesIds.toArray(Long[]::new));
+
+        if (inserted > 0) associationCacheEvictor.evictLinks(companiesIds, List.of(supplierId));
+        return inserted;
+    }
+
+    /**
+     * Unlinks the supplier from the given companies in one statement.
+     *
+     * @return the number of links removed
+     */
+    public int deleteCompanies(long supplierId, Collection<Long> companiesIds) {
+        if (companiesIds.isEmpty()) return 0;
+
+        int deleted = jdbcTemplate.update(DELETE_SUPPLIER_COMPANIES, supplierId, companiesIds.toArray(Long[]::new));
+
+        if (deleted > 0) associationCacheEvictor.evictLinks(companiesIds, List.of(supplierId));
+        return deleted;
+    }
+
+    /**
+     * @return up to {@code limit} suppliers of the company with an ID after {@code afterId}, in ID order,
+     *         optionally only of the given type and UF
+     */
+    public List<SupplierSummaryDTO> findSuppliers(long companyId, SupplierType type, FederativeUnit uf, long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_COMPANY_SUPPLIERS);
+        List<Object> args = new ArrayList<>(List.of(companyId, afterId));
+
+        if (type != null) {
+            sql.append(" AND s.pf_pj = ?");
+            args.add(type.name());
+        }
+
+        if (uf != null) {
+            sql.append(" AND s.uf = ?");
+            args.add(uf.name());
+        }
+
+        sql.append(" ORDER BY cs.supplier_id LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), SUPPLIER_SUMMARY, args.toArray());
+    }
+
+    /**
+     * @return up to {@code limit} companies of the supplier with an ID after {@code afterId}, in ID order,
+     *         optionally only from the given UF
+     */
+    public List<CompanySummaryDTO> findCompanies(long supplierId, FederativeUnit uf, long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_SUPPLIER_COMPANIES);
+        List<Object> args = new ArrayList<>(List.of(supplierId, afterId));
+
+        if (uf != null) {
+            sql.append(" AND c.uf = ?");
+            args.add(uf.name());
+        }
+
+        sql.append(" ORDER BY cs.company_id LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), COMPANY_SUMMARY, args.toArray());
+    }
+}
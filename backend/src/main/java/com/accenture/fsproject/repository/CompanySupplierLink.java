@@ -0,0 +1,9 @@
+package com.accenture.fsproject.repository;
+
+/**
+ * A row of the {@code company_supplier} join table.
+ */
+public interface CompanySupplierLink {
+    Long getCompanyId();
+    Long getSupplierId();
+}
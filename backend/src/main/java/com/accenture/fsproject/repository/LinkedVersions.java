@@ -0,0 +1,11 @@
+package com.accenture.fsproject.repository;
+
+/**
+ * Summary of the rows linked to one company or supplier: how many there are, the sum of their IDs and the sum of
+ * their row versions. Linking, unlinking or updating any of them changes at least one of the three.
+ */
+public record LinkedVersions(
+        long count,
+        long idSum,
+        long versionSum
+) {}
@@ -0,0 +1,65 @@
+package com.accenture.fsproject.repository;
+
+import com.accenture.fsproject.dto.statistics.CompanySupplierCountDTO;
+import com.accenture.fsproject.dto.statistics.UfStatisticsDTO;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Reads the summary tables maintained by the triggers of {@code V6__statistics_summary_tables.sql}, so every
+ * statistic is a lookup of precomputed counters instead of a scan of {@code company_supplier}. The UF counters
+ * are sharded to spread writer contention, so they are always read as sums over the shards of each UF.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatisticsJdbcRepository {
+
+    private static final String SELECT_UF_STATISTICS =
+            "SELECT uf, SUM(companies) AS companies, SUM(pf_suppliers) AS pf_suppliers, " +
+            "SUM(pj_suppliers) AS pj_suppliers " +
+            "FROM uf_statistics " +
+            "WHERE uf <> '' " +
+            "GROUP BY uf " +
+            "HAVING SUM(companies) <> 0 OR SUM(pf_suppliers) <> 0 OR SUM(pj_suppliers) <> 0 " +
+            "ORDER BY uf";
+
+    private static final String COUNT_COMPANIES =
+            "SELECT COALESCE(SUM(companies), 0) FROM uf_statistics";
+
+    private static final String SELECT_SUPPLIER_COUNTS =
+            "SELECT s.company_id, c.name, s.supplier_count " +
+            "FROM company_supplier_count s JOIN company c ON c.id = s.company_id " +
+            "ORDER BY s.supplier_count DESC, s.company_id " +
+            "LIMIT ? OFFSET ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<UfStatisticsDTO> findUfStatistics() {
+        return jdbcTemplate.query(SELECT_UF_STATISTICS, (rs, rowNum) -> new UfStatisticsDTO(
+                FederativeUnit.valueOf(rs.getString("uf")),
+                rs.getLong("companies"),
+                rs.getLong("pf_suppliers"),
+                rs.getLong("pj_suppliers")
+        ));
+    }
+
+    public long countCompanies() {
+        Long count = jdbcTemplate.queryForObject(COUNT_COMPANIES, Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * @return companies ordered by number of linked suppliers, most linked first
+     */
+    public List<CompanySupplierCountDTO> findSupplierCounts(int limit, long offset) {
+        return jdbcTemplate.query(SELECT_SUPPLIER_COUNTS, (rs, rowNum) -> new CompanySupplierCountDTO(
+                rs.getLong("company_id"),
+                rs.getString("name"),
+                rs.getLong("supplier_count")
+        ), limit, offset);
+    }
+}
@@ -0,0 +1,128 @@
+package com.accenture.fsproject.repository;
+
+import com.accenture.fsproject.dto.supplier.SupplierResponseDTO;
+import com.accenture.fsproject.model.Supplier;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import com.accenture.fsproject.model.enums.SupplierType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access to the {@code supplier} table for bulk paths that would be too slow through JPA.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SupplierJdbcRepository {
+
+    private static final String INSERT_SUPPLIER =
+            "INSERT INTO supplier (name, pf_pj, cpf_cnpj, rg, birthdate, email, cep, uf) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Each CPF/CNPJ is probed by a scalar subquery, which PostgreSQL never turns into a join, so every probe is an
+    // equality on the unique index. As an IN list the planner may pick the trigram index instead, and while an
+    // import keeps its pending list full one lookup can take seconds.
+    private static final String SELECT_EXISTING_CPF_CNPJS =
+            "SELECT d.cpf_cnpj FROM unnest(?) AS d(cpf_cnpj) " +
+            "WHERE (SELECT s.id FROM supplier s WHERE s.cpf_cnpj = d.cpf_cnpj) IS NOT NULL";
+
+    private static final String SELECT_IDS_BY_CPF_CNPJ =
+            "SELECT d.cpf_cnpj, (SELECT s.id FROM supplier s WHERE s.cpf_cnpj = d.cpf_cnpj) AS id " +
+            "FROM unnest(?) AS d(cpf_cnpj)";
+
+    private static final String SELECT_SUPPLIERS_WITH_COMPANIES =
+            "SELECT s.id, s.name, s.pf_pj, s.cpf_cnpj, s.rg, s.birthdate, s.email, s.cep, s.uf, cs.company_id " +
+            "FROM supplier s LEFT JOIN company_supplier cs ON cs.supplier_id = s.id " +
+            "ORDER BY s.id";
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the suppliers with one batched statement.
+     *
+     * @return the generated IDs keyed by CPF/CNPJ
+     */
+    public Map<String, Long> insertAll(List<Supplier> suppliers) {
+        if (suppliers.isEmpty()) return Map.of();
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SUPPLIER, suppliers, suppliers.size(), (ps, supplier) -> {
+            ps.setString(1, supplier.getName());
+            ps.setString(2, supplier.getType().name());
+            ps.setString(3, supplier.getCpfCnpj());
+            ps.setString(4, supplier.getRg());
+            ps.setDate(5, supplier.getBirthdate() != null ? Date.valueOf(supplier.getBirthdate()) : null);
+            ps.setString(6, supplier.getEmail());
+            ps.setString(7, supplier.getCep());
+            ps.setString(8, supplier.getUf().name());
+        });
+
+        Map<String, Long> ids = new HashMap<>();
+
+        jdbcTemplate.getJdbcTemplate().query(
+                SELECT_IDS_BY_CPF_CNPJ,
+                rs -> {
+                    ids.put(rs.getString("cpf_cnpj"), rs.getLong("id"));
+                },
+                (Object) suppliers.stream().map(Supplier::getCpfCnpj).toArray(String[]::new));
+
+        return ids;
+    }
+
+    /**
+     * @return the given CPF/CNPJs that already belong to a supplier
+     */
+    public Set<String> findExistingCpfCnpjs(Collection<String> cpfCnpjs) {
+        if (cpfCnpjs.isEmpty()) return Set.of();
+
+        return new HashSet<>(jdbcTemplate.getJdbcTemplate().queryForList(
+                SELECT_EXISTING_CPF_CNPJS, String.class, (Object) cpfCnpjs.toArray(String[]::new)));
+    }
+
+    /**
+     * Hands every supplier over with its company IDs, in ID order, reading through a forward-only cursor.
+     * Must run inside a transaction: PostgreSQL only honours the fetch size with auto-commit off, and would
+     * otherwise materialize the whole result set in memory.
+     */
+    public void streamAllWithCompaniesIds(Consumer<SupplierResponseDTO> consumer) {
+        SupplierResponseDTO[] current = new SupplierResponseDTO[1];
+
+        jdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_SUPPLIERS_WITH_COMPANIES,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            long id = rs.getLong("id");
+
+            if (current[0] == null || current[0].id() != id) {
+                if (current[0] != null) consumer.accept(current[0]);
+
+                Date birthdate = rs.getDate("birthdate");
+                String uf = rs.getString("uf");
+                current[0] = new SupplierResponseDTO(id, rs.getString("name"), SupplierType.valueOf(rs.getString("pf_pj")),
+                        rs.getString("cpf_cnpj"), rs.getString("rg"), birthdate != null ? birthdate.toLocalDate() : null,
+                        rs.getString("email"), rs.getString("cep"), uf != null ? FederativeUnit.valueOf(uf) : null,
+                        new HashSet<>());
+            }
+
+            long companyId = rs.getLong("company_id");
+            if (!rs.wasNull()) current[0].companiesIds().add(companyId);
+        });
+
+        if (current[0] != null) consumer.accept(current[0]);
+    }
+}
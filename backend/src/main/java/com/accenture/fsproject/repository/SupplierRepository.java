@@ -1,6 +1,8 @@
 package com.accenture.fsproject.repository;
 
+import com.accenture.fsproject.dto.company.CompanySummaryDTO;
 import com.accenture.fsproject.model.Supplier;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,15 +10,88 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+    String SUPPLIER_ROW = "new com.accenture.fsproject.repository.SupplierRow(" +
+            "s.id, s.name, s.type, s.cpfCnpj, s.rg, s.birthdate, s.email, s.cep, s.uf)";
+
     boolean existsByCpfCnpj(String cpfCnpj);
-    Page<Supplier> findByNameContainingIgnoreCase(String name, Pageable pageable);
-    Page<Supplier> findByCpfCnpjContaining(String cpfCnpj, Pageable pageable);
-
-    @Query("SELECT s FROM Supplier s " +
-            "WHERE (:keyword) IS NULL OR " +
-                "LOWER(s.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-                "LOWER(s.cpfCnpj) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<Supplier> findByNameOrCpfCnpj(@Param("keyword") String keyword,Pageable pageable);
+
+    boolean existsByCpfCnpjStartingWith(String prefix);
+
+    @Query(value = "SELECT " + SUPPLIER_ROW + " FROM Supplier s",
+            countQuery = "SELECT COUNT(s) FROM Supplier s")
+    Page<SupplierRow> findAllRows(Pageable pageable);
+
+    @Query("SELECT " + SUPPLIER_ROW + " FROM Supplier s WHERE s.id = :id")
+    Optional<SupplierRow> findRowById(@Param("id") Long id);
+
+    @Query(value = "SELECT " + SUPPLIER_ROW + " FROM Supplier s " +
+            "WHERE LOWER(s.name) LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT COUNT(s) FROM Supplier s " +
+            "WHERE LOWER(s.name) LIKE :pattern ESCAPE '\\'")
+    Page<SupplierRow> findByNameLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = "SELECT " + SUPPLIER_ROW + " FROM Supplier s " +
+            "WHERE s.cpfCnpj LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT COUNT(s) FROM Supplier s " +
+            "WHERE s.cpfCnpj LIKE :pattern ESCAPE '\\'")
+    Page<SupplierRow> findByCpfCnpjLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = "SELECT " + SUPPLIER_ROW + " FROM Supplier s " +
+            "WHERE LOWER(s.name) LIKE :pattern ESCAPE '\\' OR " +
+                "s.cpfCnpj LIKE :pattern ESCAPE '\\'",
+            countQuery = "SELECT COUNT(s) FROM Supplier s " +
+            "WHERE LOWER(s.name) LIKE :pattern ESCAPE '\\' OR " +
+                "s.cpfCnpj LIKE :pattern ESCAPE '\\'")
+    Page<SupplierRow> findByNameOrCpfCnpjLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("SELECT " + SUPPLIER_ROW + " FROM Supplier s WHERE s.id > :afterId ORDER BY s.id")
+    List<SupplierRow> findRowsAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT " + SUPPLIER_ROW + " FROM Supplier s " +
+            "WHERE LOWER(s.name) LIKE :pattern ESCAPE '\\' AND s.id > :afterId ORDER BY s.id")
+    List<SupplierRow> findByNameLikeAfter(@Param("pattern") String pattern, @Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT " + SUPPLIER_ROW + " FROM Supplier s " +
+            "WHERE s.cpfCnpj LIKE :pattern ESCAPE '\\' AND s.id > :afterId ORDER BY s.id")
+    List<SupplierRow> findByCpfCnpjLikeAfter(@Param("pattern") String pattern, @Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT " + SUPPLIER_ROW + " FROM Supplier s " +
+            "WHERE (LOWER(s.name) LIKE :pattern ESCAPE '\\' OR s.cpfCnpj LIKE :pattern ESCAPE '\\') " +
+            "AND s.id > :afterId ORDER BY s.id")
+    List<SupplierRow> findByNameOrCpfCnpjLikeAfter(@Param("pattern") String pattern, @Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT new com.accenture.fsproject.dto.company.CompanySummaryDTO(c.id, c.name, c.cnpj, c.cep, c.uf) " +
+            "FROM Supplier s JOIN s.companies c " +
+            "WHERE s.id = :supplierId")
+    List<CompanySummaryDTO> findCompanySummaries(@Param("supplierId") Long supplierId);
+
+    @Query("SELECT s.version FROM Supplier s WHERE s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.accenture.fsproject.repository.LinkedVersions(" +
+            "COUNT(c), COALESCE(SUM(c.id), 0L), COALESCE(SUM(c.version), 0L)) " +
+            "FROM Supplier s JOIN s.companies c " +
+            "WHERE s.id = :id")
+    LinkedVersions findCompanyVersions(@Param("id") Long id);
+
+    @Query("SELECT s.id FROM Supplier s " +
+            "WHERE s.type = com.accenture.fsproject.model.enums.SupplierType.PF AND s.birthdate > :date AND s.id IN :ids " +
+            "ORDER BY s.id")
+    List<Long> findIdsOfPfBornAfter(@Param("ids") Collection<Long> ids, @Param("date") LocalDate date, Limit limit);
+
+    @Query("SELECT s.rg FROM Supplier s WHERE s.rg IN :rgs")
+    Set<String> findExistingRgs(@Param("rgs") Collection<String> rgs);
+
+    @Query(value = "SELECT cs.company_id AS companyId, cs.supplier_id AS supplierId " +
+            "FROM company_supplier cs " +
+            "WHERE cs.supplier_id IN (:suppliersIds)", nativeQuery = true)
+    List<CompanySupplierLink> findCompanyLinks(@Param("suppliersIds") Collection<Long> suppliersIds);
 }
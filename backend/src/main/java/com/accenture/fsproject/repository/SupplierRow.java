@@ -0,0 +1,21 @@
+package com.accenture.fsproject.repository;
+
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import com.accenture.fsproject.model.enums.SupplierType;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of the {@code supplier} columns, selected without hydrating a managed {@code Supplier}.
+ */
+public record SupplierRow(
+        Long id,
+        String name,
+        SupplierType type,
+        String cpfCnpj,
+        String rg,
+        LocalDate birthdate,
+        String email,
+        String cep,
+        FederativeUnit uf
+) {}
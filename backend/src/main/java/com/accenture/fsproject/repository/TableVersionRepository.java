@@ -0,0 +1,13 @@
+package com.accenture.fsproject.repository;
+
+import com.accenture.fsproject.model.TableVersionShard;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+public interface TableVersionRepository extends Repository<TableVersionShard, Short> {
+
+    @Query("SELECT new com.accenture.fsproject.repository.TableVersions(" +
+            "COALESCE(SUM(v.company), 0L), COALESCE(SUM(v.supplier), 0L), COALESCE(SUM(v.companySupplier), 0L)) " +
+            "FROM TableVersionShard v")
+    TableVersions findTableVersions();
+}
@@ -0,0 +1,10 @@
+package com.accenture.fsproject.repository;
+
+/**
+ * Current version of each table, changed by every committed write statement on it.
+ */
+public record TableVersions(
+        long company,
+        long supplier,
+        long companySupplier
+) {}
@@ -0,0 +1,192 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.dto.cep.CepResponseDTO;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-process cache for ViaCep lookups, keyed by normalized CEP.
+ * <p>
+ * Entries are evicted in least recently used order once {@code maxSize} is reached and expire after
+ * {@code ttl}. A {@code null} value is a negative entry (CEP not found) and expires after {@code negativeTtl}.
+ * Concurrent misses for the same CEP wait on a single load instead of each calling the loader.
+ */
+final class CepCache {
+
+    private record Entry(CepResponseDTO value, long expiresAt) {}
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, Entry> entries;
+    private final ConcurrentMap<String, CompletableFuture<CepResponseDTO>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    CepCache(int maxSize, Duration ttl, Duration negativeTtl) {
+        this(maxSize, ttl, negativeTtl, System::nanoTime);
+    }
+
+    CepCache(int maxSize, Duration ttl, Duration negativeTtl, LongSupplier nanoClock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("CEP cache size must be positive.");
+        }
+
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > CepCache.this.maxSize) {
+                    // An eldest entry that had already expired was not pushed out by the size bound.
+                    (isExpired(eldest.getValue()) ? expirations : evictions).increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value for {@code cep}, calling {@code loader} on a miss. The loader returns
+     * {@code null} for a CEP that does not exist; exceptions thrown by it are propagated and not cached.
+     */
+    CepResponseDTO get(String cep, Function<String, CepResponseDTO> loader) {
+        Entry cached = lookup(cep);
+
+        if (cached != null) {
+            hits.increment();
+            return cached.value();
+        }
+
+        misses.increment();
+
+        CompletableFuture<CepResponseDTO> load = new CompletableFuture<>();
+        CompletableFuture<CepResponseDTO> running = inFlight.putIfAbsent(cep, load);
+
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            // Another caller may have finished loading between the lookup and taking ownership of the load.
+            Entry loaded = lookup(cep);
+            CepResponseDTO value = loaded != null ? loaded.value() : loader.apply(cep);
+
+            if (loaded == null) {
+                put(cep, value);
+            }
+
+            load.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cep, load);
+        }
+    }
+
+    /**
+     * Returns the live entries among {@code ceps}, without loading any. Negative entries are returned with a
+     * {@code null} value, so a missing key means the CEP is not cached.
+     */
+    Map<String, CepResponseDTO> getAllPresent(Collection<String> ceps) {
+        Map<String, CepResponseDTO> present = new HashMap<>();
+
+        for (String cep : ceps) {
+            Entry cached = lookup(cep);
+
+            if (cached != null) {
+                hits.increment();
+                present.put(cep, cached.value());
+            }
+        }
+
+        return present;
+    }
+
+    long hitCount() {
+        return hits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Entries dropped to stay within {@code maxSize}; expired entries are counted by {@link #expirationCount()}.
+     */
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    long expirationCount() {
+        return expirations.sum();
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Entry lookup(String cep) {
+        synchronized (entries) {
+            Entry entry = entries.get(cep);
+
+            if (entry == null) return null;
+
+            if (isExpired(entry)) {
+                entries.remove(cep);
+                expirations.increment();
+                return null;
+            }
+
+            return entry;
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return nanoClock.getAsLong() - entry.expiresAt() >= 0;
+    }
+
+    private void put(String cep, CepResponseDTO value) {
+        long ttl = value != null ? ttlNanos : negativeTtlNanos;
+
+        if (ttl <= 0) return;
+
+        synchronized (entries) {
+            entries.put(cep, new Entry(value, nanoClock.getAsLong() + ttl));
+        }
+    }
+
+    private static CepResponseDTO await(CompletableFuture<CepResponseDTO> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
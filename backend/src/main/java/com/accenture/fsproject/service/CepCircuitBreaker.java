@@ -0,0 +1,92 @@
+package com.accenture.fsproject.service;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker guarding ViaCep calls.
+ * <p>
+ * After {@code failureThreshold} failed calls in a row the circuit opens and every call is refused without
+ * touching the network. Once {@code openDuration} has passed, a single trial call is let through: its success
+ * closes the circuit again, its failure keeps it open for another {@code openDuration}.
+ */
+final class CepCircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    CepCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    CepCircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("CEP circuit breaker failure threshold must be positive.");
+        }
+
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return whether a call may go to ViaCep now; a permitted call must be followed by {@link #onSuccess()},
+     *         {@link #onFailure()} or {@link #releasePermission()}
+     */
+    synchronized boolean tryAcquirePermission() {
+        switch (state) {
+            case CLOSED -> {
+                return true;
+            }
+            case OPEN -> {
+                if (nanoClock.getAsLong() - openedAt < openDurationNanos) return false;
+
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            }
+            default -> {
+                if (trialInFlight) return false;
+
+                trialInFlight = true;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a permission whose call never reached ViaCep, such as when no bulkhead slot freed up in time,
+     * without counting it as a success or a failure; a half-open circuit lets the next call be the trial.
+     */
+    synchronized void releasePermission() {
+        trialInFlight = false;
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        trialInFlight = false;
+
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
@@ -1,42 +1,318 @@
 package com.accenture.fsproject.service;
 
+import com.accenture.fsproject.config.CepProperties;
 import com.accenture.fsproject.dto.cep.CepResponseDTO;
 import com.accenture.fsproject.exception.BusinessLogicException;
+import com.accenture.fsproject.exception.CepServiceUnavailableException;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import com.accenture.fsproject.util.CepUfResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
 
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves CEPs through ViaCep. Lookups are cached, bounded by a bulkhead and guarded by a circuit breaker, so
+ * a slow or failing ViaCep costs at most the client timeouts per call and then fails fast. While ViaCep is
+ * unavailable, CEPs the offline range table can attribute to a UF are still answered.
+ */
 @Service
 public class CepService {
 
+    private static final String UNAVAILABLE_MESSAGE = "CEP service is unavailable, try again later.";
+    private static final CepResponseDTO NOT_FOUND_RESPONSE = new CepResponseDTO(null, true);
+
+    private static final String SUCCESS = "success";
+    private static final String NOT_FOUND = "not_found";
+    private static final String TIMEOUT = "timeout";
+    private static final String ERROR = "error";
+
     private final RestClient restClient;
+    private final CepCache cache;
+    private final Semaphore bulkhead;
+    private final Duration bulkheadMaxWait;
+    private final Counter bulkheadRejections;
+    private final CepCircuitBreaker circuitBreaker;
+    private final Counter circuitRejections;
+    private final Counter offlineFallbacks;
+    private final Map<String, Timer> lookupTimers;
+    private final int batchMaxSize;
+    private final int batchParallelism;
 
-    public CepService(RestClient cepRestClient) {
+    public CepService(RestClient cepRestClient, CepProperties properties, MeterRegistry meterRegistry) {
         this.restClient = cepRestClient;
+        this.cache = new CepCache(
+                properties.cache().maxSize(),
+                properties.cache().ttl(),
+                properties.cache().negativeTtl()
+        );
+        this.bulkhead = new Semaphore(properties.bulkhead().maxConcurrentCalls(), true);
+        this.bulkheadMaxWait = properties.bulkhead().maxWait();
+        this.batchMaxSize = properties.batch().maxSize();
+        this.batchParallelism = properties.batch().parallelism();
+        this.bulkheadRejections = Counter.builder("cep.bulkhead.rejections")
+                .description("ViaCep lookups rejected because every bulkhead slot stayed busy")
+                .register(meterRegistry);
+        this.circuitBreaker = new CepCircuitBreaker(
+                properties.circuitBreaker().failureThreshold(),
+                properties.circuitBreaker().openDuration()
+        );
+        this.circuitRejections = Counter.builder("cep.circuit.rejections")
+                .description("ViaCep lookups refused without a call because the circuit was open")
+                .register(meterRegistry);
+        this.offlineFallbacks = Counter.builder("cep.offline.fallbacks")
+                .description("CEP lookups answered from the offline range table because ViaCep was unavailable")
+                .register(meterRegistry);
+        this.lookupTimers = List.of(SUCCESS, NOT_FOUND, TIMEOUT, ERROR).stream()
+                .collect(Collectors.toMap(Function.identity(), outcome -> Timer.builder("cep.lookups")
+                        .description("ViaCep calls by outcome")
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)));
+
+        registerCacheMetrics(meterRegistry);
+        registerBulkheadMetrics(meterRegistry, properties.bulkhead().maxConcurrentCalls());
+        registerCircuitBreakerMetrics(meterRegistry);
     }
 
     public CepResponseDTO getCepInfo(String cep) {
+        CepResponseDTO response = lookup(normalizeCep(cep));
+
+        if (response == null) {
+            throw new IllegalArgumentException("Invalid CEP.");
+        }
+
+        return response;
+    }
+
+    /**
+     * Looks up many CEPs at once. CEPs are normalized and deduplicated, cached ones are answered right away and
+     * the rest are fetched with at most {@code cep.batch.parallelism} of them in flight, still within the
+     * ViaCep bulkhead shared with every other lookup.
+     *
+     * @return the lookup of every distinct CEP, keyed by normalized CEP in request order; a CEP ViaCep does not
+     *         know maps to a response with {@code erro} set
+     */
+    public Map<String, CepResponseDTO> getCepInfoBatch(Collection<String> ceps) {
+        if (ceps.size() > batchMaxSize) {
+            throw new IllegalArgumentException("A CEP batch can have at most " + batchMaxSize + " CEPs.");
+        }
+
+        Set<String> normalizedCeps = new LinkedHashSet<>();
+
+        for (String cep : ceps) {
+            normalizedCeps.add(normalizeCep(cep));
+        }
+
+        Map<String, CepResponseDTO> cached = cache.getAllPresent(normalizedCeps);
+        Map<String, CepResponseDTO> resolved = new ConcurrentHashMap<>();
+        Queue<String> misses = new ConcurrentLinkedQueue<>();
+
+        for (String cep : normalizedCeps) {
+            if (!cached.containsKey(cep)) {
+                misses.add(cep);
+            } else {
+                resolved.put(cep, cached.get(cep) != null ? cached.get(cep) : NOT_FOUND_RESPONSE);
+            }
+        }
+
+        lookupInParallel(misses, resolved);
+
+        Map<String, CepResponseDTO> result = new LinkedHashMap<>();
+
+        for (String cep : normalizedCeps) {
+            result.put(cep, resolved.get(cep));
+        }
+
+        return result;
+    }
+
+    /**
+     * Resolves the UF of a CEP from the offline CEP range table, only calling ViaCep for CEPs the table
+     * cannot attribute to a single UF.
+     */
+    public FederativeUnit resolveUf(String cep) {
         String normalizedCep = normalizeCep(cep);
 
-        CepResponseDTO response;
+        return CepUfResolver.resolve(normalizedCep)
+                .orElseGet(() -> FederativeUnit.valueOf(getCepInfo(normalizedCep).uf()));
+    }
+
+    private CepResponseDTO lookup(String normalizedCep) {
+        try {
+            return cache.get(normalizedCep, this::fetchCepInfo);
+        } catch (CepServiceUnavailableException e) {
+            return offlineCepInfo(normalizedCep).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Drains {@code misses} with a fixed number of workers, so a large batch never has more than
+     * {@code batchParallelism} lookups of its own in flight. The first failure stops the remaining lookups
+     * and is rethrown.
+     */
+    private void lookupInParallel(Queue<String> misses, Map<String, CepResponseDTO> resolved) {
+        int workers = Math.min(batchParallelism, misses.size());
+
+        if (workers == 0) return;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tasks = new ArrayList<>(workers);
+
+            for (int i = 0; i < workers; i++) {
+                tasks.add(executor.submit(() -> {
+                    try {
+                        for (String cep = misses.poll(); cep != null; cep = misses.poll()) {
+                            CepResponseDTO response = lookup(cep);
+                            resolved.put(cep, response != null ? response : NOT_FOUND_RESPONSE);
+                        }
+                    } catch (RuntimeException e) {
+                        misses.clear();
+                        throw e;
+                    }
+                }));
+            }
+
+            for (Future<?> task : tasks) {
+                await(task);
+            }
+        }
+    }
 
+    private static void await(Future<?> task) {
         try {
-            response = this.restClient
+            task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CepServiceUnavailableException("Interrupted while waiting for CEP lookups.");
+        }
+    }
+
+    private Optional<CepResponseDTO> offlineCepInfo(String normalizedCep) {
+        return CepUfResolver.resolve(normalizedCep).map(uf -> {
+            offlineFallbacks.increment();
+            return new CepResponseDTO(uf.name(), null);
+        });
+    }
+
+    /**
+     * Asks the circuit breaker before queueing for a bulkhead slot, so while the circuit is open callers are
+     * refused at once instead of waiting up to {@code cep.bulkhead.max-wait} to be refused.
+     */
+    private CepResponseDTO fetchCepInfo(String normalizedCep) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            circuitRejections.increment();
+            throw new CepServiceUnavailableException(UNAVAILABLE_MESSAGE);
+        }
+
+        try {
+            acquireBulkhead();
+        } catch (CepServiceUnavailableException e) {
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+
+        try {
+            return callViaCep(normalizedCep);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Calls ViaCep and reports the outcome to the circuit breaker. Only a 400 or 404 answer means the upstream
+     * is healthy but does not know this CEP; any other 4xx, such as 429 when ViaCep throttles us, counts against
+     * it like I/O failures, timeouts and server errors, and is never negative-cached.
+     */
+    private CepResponseDTO callViaCep(String normalizedCep) {
+        long start = System.nanoTime();
+        String outcome = ERROR;
+
+        try {
+            CepResponseDTO response = this.restClient
                     .get()
                     .uri("/" + normalizedCep + "/json")
                     .retrieve()
                     .body(CepResponseDTO.class);
-        } catch (Exception e) {
-            throw new RuntimeException(e.getMessage());
+
+            circuitBreaker.onSuccess();
+
+            if (response == null || response.uf() == null || Boolean.TRUE.equals(response.notFound())) {
+                outcome = NOT_FOUND;
+                return null;
+            }
+
+            outcome = SUCCESS;
+            return response;
+        } catch (HttpClientErrorException.BadRequest | HttpClientErrorException.NotFound e) {
+            circuitBreaker.onSuccess();
+            outcome = NOT_FOUND;
+            return null;
+        } catch (ResourceAccessException e) {
+            circuitBreaker.onFailure();
+            if (e.getCause() instanceof InterruptedIOException) outcome = TIMEOUT;
+            throw new CepServiceUnavailableException(UNAVAILABLE_MESSAGE);
+        } catch (RestClientException e) {
+            circuitBreaker.onFailure();
+            throw new CepServiceUnavailableException(UNAVAILABLE_MESSAGE);
+        } finally {
+            lookupTimers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
+    }
 
-        if (response == null || response.uf() == null || Boolean.TRUE.equals(response.notFound())) {
-            throw new IllegalArgumentException("Invalid CEP.");
+    /**
+     * Waits for one of the bulkhead slots, so that no matter how many requests need ViaCep at once, only a
+     * bounded number of calls reach it and the rest queue here instead of piling up on the upstream.
+     */
+    private void acquireBulkhead() {
+        boolean acquired;
+
+        try {
+            acquired = bulkhead.tryAcquire(bulkheadMaxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CepServiceUnavailableException("Interrupted while waiting for a CEP lookup slot.");
         }
 
-        return response;
+        if (!acquired) {
+            bulkheadRejections.increment();
+            throw new CepServiceUnavailableException("Too many concurrent CEP lookups, try again later.");
+        }
     }
 
-    private String normalizeCep(String cep) {
+    static String normalizeCep(String cep) {
         if (cep == null) {
             throw new BusinessLogicException("CEP cannot be null.");
         }
@@ -49,4 +325,43 @@ public class CepService {
 
         return onlyNumbers;
     }
+
+    private void registerCacheMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("cache.gets", cache, CepCache::hitCount)
+                .tags("cache", "cep", "result", "hit")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("cache.gets", cache, CepCache::missCount)
+                .tags("cache", "cep", "result", "miss")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("cache.evictions", cache, CepCache::evictionCount)
+                .tag("cache", "cep")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("cache.expirations", cache, CepCache::expirationCount)
+                .description("Entries dropped because their TTL passed, unlike cache.evictions which are size-bound")
+                .tag("cache", "cep")
+                .register(meterRegistry);
+
+        Gauge.builder("cache.size", cache, CepCache::size)
+                .tag("cache", "cep")
+                .register(meterRegistry);
+    }
+
+    private void registerBulkheadMetrics(MeterRegistry meterRegistry, int maxConcurrentCalls) {
+        Gauge.builder("cep.bulkhead.active", bulkhead, semaphore -> maxConcurrentCalls - semaphore.availablePermits())
+                .description("ViaCep calls currently in flight")
+                .register(meterRegistry);
+
+        Gauge.builder("cep.bulkhead.queued", bulkhead, Semaphore::getQueueLength)
+                .description("CEP lookups waiting for a bulkhead slot")
+                .register(meterRegistry);
+    }
+
+    private void registerCircuitBreakerMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("cep.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("ViaCep circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+    }
 }
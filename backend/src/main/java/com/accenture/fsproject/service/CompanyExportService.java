@@ -0,0 +1,27 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.dto.company.CompanyResponseDTO;
+import com.accenture.fsproject.repository.CompanyJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+
+/**
+ * Full company export. Companies and their supplier IDs are read through a single forward-only cursor over
+ * {@code company LEFT JOIN company_supplier} and written as they arrive, so memory stays constant regardless
+ * of table size.
+ */
+@Service
+@RequiredArgsConstructor
+public class CompanyExportService {
+
+    private final CompanyJdbcRepository companyJdbcRepository;
+    private final ExportFileWriter exportFileWriter;
+
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream output) {
+        exportFileWriter.<CompanyResponseDTO>writeNdjson(output, companyJdbcRepository::streamAllWithSuppliersIds);
+    }
+}
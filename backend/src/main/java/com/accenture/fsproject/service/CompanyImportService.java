@@ -0,0 +1,211 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.config.CepProperties;
+import com.accenture.fsproject.config.ImportProperties;
+import com.accenture.fsproject.dto.cep.CepResponseDTO;
+import com.accenture.fsproject.dto.company.CompanyCreateDTO;
+import com.accenture.fsproject.dto.imports.ImportReportDTO;
+import com.accenture.fsproject.dto.imports.ImportRowResultDTO;
+import com.accenture.fsproject.model.Company;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import com.accenture.fsproject.model.enums.ImportRowStatus;
+import com.accenture.fsproject.repository.CompanyJdbcRepository;
+import com.accenture.fsproject.util.CepUfResolver;
+import com.accenture.fsproject.util.CpfCnpjValidator;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk company import. Rows are processed in chunks: each chunk is validated, its distinct CEPs are resolved
+ * through one CEP batch lookup, its CNPJs are checked against the database with a single query and its valid
+ * rows are written with one batched insert in their own transaction. A chunk the database rejects, for a
+ * constraint the checks cannot see or a CNPJ inserted concurrently, is retried row by row so only the offending
+ * rows fail.
+ */
+@Service
+@RequiredArgsConstructor
+public class CompanyImportService {
+
+    private final CompanyJdbcRepository companyJdbcRepository;
+
+    private final CepService cepService;
+    private final CepProperties cepProperties;
+    private final ImportFileReader importFileReader;
+    private final ImportProperties importProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    public ImportReportDTO importCsv(InputStream input) {
+        List<ImportRowResultDTO> results = new ArrayList<>();
+
+        importFileReader.readCsv(input, CompanyImportService::fromCsvColumns, importProperties.chunkSize(),
+                chunk -> results.addAll(importChunk(chunk)));
+
+        return ImportReportDTO.of(results);
+    }
+
+    public ImportReportDTO importNdjson(InputStream input) {
+        List<ImportRowResultDTO> results = new ArrayList<>();
+
+        importFileReader.readNdjson(input, CompanyCreateDTO.class, importProperties.chunkSize(),
+                chunk -> results.addAll(importChunk(chunk)));
+
+        return ImportReportDTO.of(results);
+    }
+
+    private static CompanyCreateDTO fromCsvColumns(Map<String, String> columns) {
+        return new CompanyCreateDTO(columns.get("name"), columns.get("cnpj"), columns.get("cep"), null, null);
+    }
+
+    private List<ImportRowResultDTO> importChunk(List<ImportFileReader.Row<CompanyCreateDTO>> chunk) {
+        ImportRowResultDTO[] results = new ImportRowResultDTO[chunk.size()];
+        List<Integer> candidates = new ArrayList<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportFileReader.Row<CompanyCreateDTO> row = chunk.get(i);
+            String error = row.error() != null ? row.error() : validate(row.value());
+
+            if (error != null) {
+                results[i] = failed(row, error);
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        Set<String> existingCnpjs = candidates.isEmpty() ? Set.of() : companyJdbcRepository.findExistingCnpjs(
+                candidates.stream().map(i -> chunk.get(i).value().cnpj()).collect(Collectors.toSet()));
+
+        List<String> ceps = candidates.stream().map(i -> chunk.get(i).value().cep()).distinct().toList();
+        Map<String, FederativeUnit> ufsByCep = new HashMap<>();
+        Map<String, String> cepErrors = new HashMap<>();
+
+        for (int from = 0; from < ceps.size(); from += cepProperties.batch().maxSize()) {
+            resolveUfs(ceps.subList(from, Math.min(from + cepProperties.batch().maxSize(), ceps.size())),
+                    ufsByCep, cepErrors);
+        }
+
+        Set<String> chunkCnpjs = new HashSet<>();
+        List<Integer> accepted = new ArrayList<>();
+        List<Company> companies = new ArrayList<>();
+
+        for (Integer i : candidates) {
+            ImportFileReader.Row<CompanyCreateDTO> row = chunk.get(i);
+            CompanyCreateDTO dto = row.value();
+
+            if (existingCnpjs.contains(dto.cnpj())) {
+                results[i] = failed(row, "Company with this CNPJ already exists");
+            } else if (!chunkCnpjs.add(dto.cnpj())) {
+                results[i] = failed(row, "CNPJ is repeated in the import file.");
+            } else if (cepErrors.containsKey(dto.cep())) {
+                results[i] = failed(row, cepErrors.get(dto.cep()));
+            } else {
+                Company company = new Company();
+                company.setName(dto.name());
+                company.setCnpj(dto.cnpj());
+                company.setCep(dto.cep());
+                company.setUf(ufsByCep.get(dto.cep()));
+
+                companies.add(company);
+                accepted.add(i);
+            }
+        }
+
+        boolean chunkSaved = save(companies) == null;
+
+        for (int k = 0; k < accepted.size(); k++) {
+            ImportFileReader.Row<CompanyCreateDTO> row = chunk.get(accepted.get(k));
+            String saveError = chunkSaved ? null : save(List.of(companies.get(k)));
+            results[accepted.get(k)] = saveError == null ? imported(row) : failed(row, saveError);
+        }
+
+        return List.of(results);
+    }
+
+    /**
+     * Resolves the UFs of {@code ceps} with one ViaCep batch lookup, then attributes the CEPs the batch left
+     * unresolved, because ViaCep does not know them or the whole batch failed, from the offline CEP range table.
+     * CEPs neither can attribute get an error instead.
+     */
+    private void resolveUfs(List<String> ceps, Map<String, FederativeUnit> ufsByCep, Map<String, String> cepErrors) {
+        Map<String, CepResponseDTO> responses;
+        String batchError;
+
+        try {
+            responses = cepService.getCepInfoBatch(ceps);
+            batchError = null;
+        } catch (RuntimeException e) {
+            responses = Map.of();
+            batchError = e.getMessage();
+        }
+
+        for (String cep : ceps) {
+            CepResponseDTO response = responses.get(cep);
+            boolean found = response != null && response.uf() != null && !Boolean.TRUE.equals(response.notFound());
+            Optional<FederativeUnit> uf = found
+                    ? Optional.of(FederativeUnit.valueOf(response.uf()))
+                    : CepUfResolver.resolve(cep);
+
+            if (uf.isPresent()) {
+                ufsByCep.put(cep, uf.get());
+            } else {
+                cepErrors.put(cep, batchError != null ? batchError : "Invalid CEP.");
+            }
+        }
+    }
+
+    private String save(List<Company> companies) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> companyJdbcRepository.insertAll(companies));
+            return null;
+        } catch (DataAccessException e) {
+            return "Could not save row: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        }
+    }
+
+    private String validate(CompanyCreateDTO dto) {
+        String violation = validator.validate(dto).stream()
+                .filter(v -> !v.getPropertyPath().toString().equals("uf"))
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .findFirst()
+                .orElse(null);
+
+        if (violation != null) return violation;
+
+        if (dto.suppliersIds() != null && !dto.suppliersIds().isEmpty()) {
+            return "Suppliers cannot be linked through the company import.";
+        }
+
+        try {
+            CpfCnpjValidator.valid(dto.cnpj());
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+
+        return null;
+    }
+
+    private static ImportRowResultDTO imported(ImportFileReader.Row<CompanyCreateDTO> row) {
+        return new ImportRowResultDTO(row.line(), row.value().cnpj(), ImportRowStatus.IMPORTED, null);
+    }
+
+    private static ImportRowResultDTO failed(ImportFileReader.Row<CompanyCreateDTO> row, String message) {
+        String cnpj = row.value() != null ? row.value().cnpj() : null;
+        return new ImportRowResultDTO(row.line(), cnpj, ImportRowStatus.FAILED, message);
+    }
+}
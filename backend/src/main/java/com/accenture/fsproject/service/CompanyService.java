@@ -1,63 +1,121 @@
 package com.accenture.fsproject.service;
 
+import com.accenture.fsproject.config.EntityCacheProperties;
 import com.accenture.fsproject.dto.company.CompanyCreateDTO;
 import com.accenture.fsproject.dto.company.CompanyResponseDTO;
 import com.accenture.fsproject.dto.company.CompanyResponseDetailsDTO;
 
 import com.accenture.fsproject.dto.company.CompanyUpdateDTO;
 import com.accenture.fsproject.dto.supplier.SupplierSummaryDTO;
+import com.accenture.fsproject.dto.page.CursorPageDTO;
 import com.accenture.fsproject.exception.BusinessLogicException;
 import com.accenture.fsproject.exception.ItemNotFoundException;
 import com.accenture.fsproject.model.Company;
-import com.accenture.fsproject.model.Supplier;
+import com.accenture.fsproject.model.enums.DetailView;
 import com.accenture.fsproject.model.enums.FederativeUnit;
 import com.accenture.fsproject.model.enums.SearchType;
 import com.accenture.fsproject.model.enums.SupplierType;
+import com.accenture.fsproject.repository.AssociationCacheEvictor;
 import com.accenture.fsproject.repository.CompanyRepository;
+import com.accenture.fsproject.repository.CompanyRow;
+import com.accenture.fsproject.repository.CompanySupplierJdbcRepository;
+import com.accenture.fsproject.repository.CompanySupplierLink;
+import com.accenture.fsproject.repository.LinkedVersions;
 import com.accenture.fsproject.repository.SupplierRepository;
+import com.accenture.fsproject.repository.TableVersionRepository;
+import com.accenture.fsproject.repository.TableVersions;
 import com.accenture.fsproject.util.CpfCnpjValidator;
+import com.accenture.fsproject.util.Cursors;
+import com.accenture.fsproject.util.ETags;
+import com.accenture.fsproject.util.SearchPatterns;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.Period;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Company reads run in read-only transactions. Writes resolve everything that needs no database first, most
+ * importantly the CEP lookup, and only then open a short transaction, so no connection is held while ViaCep
+ * answers.
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class CompanyService {
 
+    private static final int MAX_REPORTED_IDS = 20;
+
     private final CompanyRepository companyRepository;
     private final SupplierRepository supplierRepository;
 
     private final CepService cepService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityCacheProperties entityCacheProperties;
+    private final AssociationCacheEvictor associationCacheEvictor;
+    private final CompanySupplierJdbcRepository companySupplierJdbcRepository;
+    private final TableVersionRepository tableVersionRepository;
 
-    private CompanyResponseDTO toCompanyResponseDTO(Company company) {
-        Set<Long> suppliersIds = company.getSuppliers()
-                .stream()
-                .map(Supplier::getId)
-                .collect(Collectors.toSet());
-
+    static CompanyResponseDTO toCompanyResponseDTO(CompanyRow company, Set<Long> suppliersIds) {
         return new CompanyResponseDTO(
-                company.getId(),
-                company.getName(),
-                company.getCnpj(),
-                company.getCep(),
-                company.getUf(),
+                company.id(),
+                company.name(),
+                company.cnpj(),
+                company.cep(),
+                company.uf(),
                 suppliersIds
         );
     }
 
-    private CompanyResponseDetailsDTO toCompanyResponseDetailsDTO(Company company) {
+    private Map<Long, Set<Long>> findSuppliersIds(List<CompanyRow> companies) {
+        if (companies.isEmpty()) return Map.of();
+
+        List<Long> companiesIds = companies.stream().map(CompanyRow::id).toList();
+
+        return companyRepository.findSupplierLinks(companiesIds)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        CompanySupplierLink::getCompanyId,
+                        Collectors.mapping(CompanySupplierLink::getSupplierId, Collectors.toSet())));
+    }
+
+    private Page<CompanyResponseDTO> toCompanyResponsePage(Page<CompanyRow> companies) {
+        Map<Long, Set<Long>> suppliersIdsByCompany = findSuppliersIds(companies.getContent());
+
+        return companies.map(company -> toCompanyResponseDTO(
+                company,
+                suppliersIdsByCompany.getOrDefault(company.id(), Set.of())));
+    }
+
+    private CursorPageDTO<CompanyResponseDTO> toCompanyCursorPage(List<CompanyRow> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        List<CompanyRow> companies = hasNext ? rows.subList(0, size) : rows;
+        Map<Long, Set<Long>> suppliersIdsByCompany = findSuppliersIds(companies);
+
+        List<CompanyResponseDTO> content = companies.stream()
+                .map(company -> toCompanyResponseDTO(company, suppliersIdsByCompany.getOrDefault(company.id(), Set.of())))
+                .toList();
+
+        String nextCursor = hasNext ? Cursors.encode(companies.get(size - 1).id()) : null;
+
+        return new CursorPageDTO<>(content, nextCursor, hasNext);
+    }
+
+    static CompanyResponseDetailsDTO toCompanyResponseDetailsDTO(Company company) {
         Set<SupplierSummaryDTO> suppliers = company.getSuppliers().stream().map(
                 supplier -> new SupplierSummaryDTO(
+                        supplier.getId(),
                         supplier.getName(),
                         supplier.getType(),
                         supplier.getCpfCnpj(),
@@ -79,21 +137,34 @@ public class CompanyService {
         );
     }
 
-    private int getPfSupplierAge(LocalDate birthdate) {
-        return Period.between(birthdate, LocalDate.now()).getYears();
+    private static CompanyRow toCompanyRow(Company company) {
+        return new CompanyRow(company.getId(), company.getName(), company.getCnpj(), company.getCep(), company.getUf());
+    }
+
+    private CompanyResponseDetailsDTO toCompanyResponseDetailsDTO(CompanyRow company, Set<SupplierSummaryDTO> suppliers) {
+        return new CompanyResponseDetailsDTO(
+                company.id(),
+                company.name(),
+                company.cnpj(),
+                company.cep(),
+                company.uf(),
+                suppliers
+        );
     }
 
-    private void validateParanaSupplierCondition(FederativeUnit uf, Set<Supplier> suppliers) {
-        if (uf != FederativeUnit.PR) return;
+    /**
+     * Companies from Paraná cannot have underage PF suppliers. The rule runs as one query over the candidate
+     * IDs and reports at most {@value #MAX_REPORTED_IDS} offending suppliers.
+     */
+    private void validateParanaSupplierCondition(FederativeUnit uf, Collection<Long> suppliersIds) {
+        if (uf != FederativeUnit.PR || suppliersIds.isEmpty()) return;
 
-        Set<Supplier> notValidSuppliers = suppliers.stream()
-                .filter(supplier -> supplier.getType() == SupplierType.PF
-                        && (getPfSupplierAge(supplier.getBirthdate()) < 18))
-                .collect(Collectors.toSet());
+        List<Long> underageSuppliers = supplierRepository.findIdsOfPfBornAfter(
+                suppliersIds, LocalDate.now().minusYears(18), Limit.of(MAX_REPORTED_IDS));
 
-        if (!notValidSuppliers.isEmpty()) {
+        if (!underageSuppliers.isEmpty()) {
             throw new BusinessLogicException("The following suppliers cannot be added due to PF supplier being underage: "
-                    + notValidSuppliers);
+                    + underageSuppliers);
         }
     }
 
@@ -105,86 +176,263 @@ public class CompanyService {
 
         CpfCnpjValidator.valid(dto.cnpj());
 
-        Company company = new Company();
-        company.setName(dto.name());
-        company.setCnpj(dto.cnpj());
-
-        FederativeUnit uf = FederativeUnit.valueOf(cepService.getCepInfo(dto.cep()).uf());
+        FederativeUnit uf = cepService.resolveUf(dto.cep());
 
-        company.setCep(dto.cep());
-        company.setUf(uf);
+        return transactionTemplate.execute(status -> {
+            Company company = new Company();
+            company.setName(dto.name());
+            company.setCnpj(dto.cnpj());
+            company.setCep(dto.cep());
+            company.setUf(uf);
 
-        if (dto.suppliersIds() != null && !dto.suppliersIds().isEmpty()) {
-            Set<Supplier> suppliers = new HashSet<>(supplierRepository.findAllById(dto.suppliersIds()));
+            boolean linkSuppliers = dto.suppliersIds() != null && !dto.suppliersIds().isEmpty();
+            if (linkSuppliers) validateParanaSupplierCondition(company.getUf(), dto.suppliersIds());
 
-            validateParanaSupplierCondition(company.getUf(), suppliers);
+            Company saved = companyRepository.save(company);
 
-            company.setSuppliers(suppliers);
-        }
+            if (linkSuppliers) companySupplierJdbcRepository.insertSuppliers(saved.getId(), dto.suppliersIds());
 
-        Company saved = companyRepository.save(company);
-        return toCompanyResponseDetailsDTO(saved);
+            return toCompanyResponseDetailsDTO(toCompanyRow(saved), new HashSet<>(companyRepository.findSupplierSummaries(saved.getId())));
+        });
     }
 
     @Transactional(readOnly = true)
     public Page<CompanyResponseDTO> findAll(Pageable pageable) {
-        Page<Company> response = companyRepository.findAll(pageable);
-        return response.map(this::toCompanyResponseDTO);
+        Page<CompanyRow> response = companyRepository.findAllRows(pageable);
+        return toCompanyResponsePage(response);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CompanyResponseDTO> findAll(String after, int size) {
+        Cursors.checkSize(size);
+
+        List<CompanyRow> rows = companyRepository.findRowsAfter(Cursors.decode(after), Limit.of(size + 1));
+        return toCompanyCursorPage(rows, size);
+    }
+
+    /**
+     * Entity tag of the company details: the row's own version plus, unless the view is {@link DetailView#LIGHT},
+     * the count, ID sum and version sum of its linked suppliers, since the full body embeds them. The tag only
+     * reads this company's links, so writes to other suppliers or links leave it unchanged; the price is that
+     * unlinking one supplier and linking another whose ID and version add up to the same sums goes unnoticed.
+     * Versions are committed with the writes and read before the body, so a concurrent write can at worst pair
+     * a newer body with an older tag, which only costs one more full read.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> findDetailsETag(Long id, DetailView view) {
+        return companyRepository.findVersionById(id).map(version -> {
+            if (view == DetailView.LIGHT) return ETags.of(version);
+
+            LinkedVersions suppliers = companyRepository.findSupplierVersions(id);
+            return ETags.of(version, suppliers.count(), suppliers.idSum(), suppliers.versionSum());
+        });
+    }
+
+    /**
+     * Entity tag of the pages of a company's suppliers: the supplier and link table versions, read without
+     * touching the links. Empty when the company does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> findSuppliersETag(Long id) {
+        if (!companyRepository.existsById(id)) return Optional.empty();
+
+        TableVersions tables = tableVersionRepository.findTableVersions();
+        return Optional.of(ETags.of(tables.supplier(), tables.companySupplier()));
+    }
+
+    /**
+     * Entity tag shared by every company listing and search page; it changes whenever any company or link does.
+     */
+    @Transactional(readOnly = true)
+    public String findListingETag() {
+        TableVersions tables = tableVersionRepository.findTableVersions();
+        return ETags.of(tables.company(), tables.companySupplier());
+    }
+
+    /**
+     * With the entity cache enabled, the company and its suppliers are loaded as entities so a hot company is
+     * served from the second-level cache; otherwise only the columns of the response are projected.
+     */
     @Transactional(readOnly = true)
     public CompanyResponseDetailsDTO findById(Long id) {
-        Company company = companyRepository.findById(id).orElseThrow(() -> new ItemNotFoundException("Company not found"));
-        return toCompanyResponseDetailsDTO(company);
+        if (entityCacheProperties.enabled()) {
+            return companyRepository.findById(id)
+                    .map(CompanyService::toCompanyResponseDetailsDTO)
+                    .orElseThrow(() -> new ItemNotFoundException("Company not found"));
+        }
+
+        CompanyRow company = companyRepository.findRowById(id).orElseThrow(() -> new ItemNotFoundException("Company not found"));
+        Set<SupplierSummaryDTO> suppliers = new HashSet<>(companyRepository.findSupplierSummaries(id));
+
+        return toCompanyResponseDetailsDTO(company, suppliers);
     }
 
-    public CompanyResponseDetailsDTO update(Long id, CompanyUpdateDTO dto) {
-        Company company = companyRepository.findById(id).orElseThrow(() -> new ItemNotFoundException("Company not found"));
+    /**
+     * The light view leaves the suppliers out, so it costs the same for any company; they are paged through
+     * {@link #findSuppliers} instead.
+     */
+    @Transactional(readOnly = true)
+    public CompanyResponseDetailsDTO findById(Long id, DetailView view) {
+        if (view != DetailView.LIGHT) return findById(id);
 
-        if (dto.name() != null) company.setName(dto.name());
+        return companyRepository.findRowById(id)
+                .map(company -> toCompanyResponseDetailsDTO(company, null))
+                .orElseThrow(() -> new ItemNotFoundException("Company not found"));
+    }
 
-        if (dto.cep() != null) {
-            FederativeUnit uf = FederativeUnit.valueOf(cepService.getCepInfo(dto.cep()).uf());
+    @Transactional(readOnly = true)
+    public CursorPageDTO<SupplierSummaryDTO> findSuppliers(Long id, SupplierType type, FederativeUnit uf, String after, int size) {
+        Cursors.checkSize(size);
 
-            company.setCep(dto.cep());
-            company.setUf(uf);
+        if (!companyRepository.existsById(id)) {
+            throw new ItemNotFoundException("Company not found");
         }
 
-        if (dto.suppliersIds() != null && !dto.suppliersIds().isEmpty()) {
-            Set<Supplier> suppliers = new HashSet<>(supplierRepository.findAllById(dto.suppliersIds()));
+        List<SupplierSummaryDTO> rows = companySupplierJdbcRepository.findSuppliers(id, type, uf, Cursors.decode(after), size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<SupplierSummaryDTO> suppliers = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? Cursors.encode(suppliers.getLast().id()) : null;
+
+        return new CursorPageDTO<>(suppliers, nextCursor, hasNext);
+    }
+
+    public CompanyResponseDetailsDTO update(Long id, CompanyUpdateDTO dto) {
+        FederativeUnit uf = dto.cep() != null ? cepService.resolveUf(dto.cep()) : null;
+
+        return transactionTemplate.execute(status -> {
+            Company company = companyRepository.findById(id).orElseThrow(() -> new ItemNotFoundException("Company not found"));
+
+            if (dto.name() != null) company.setName(dto.name());
+
+            if (uf != null) {
+                company.setCep(dto.cep());
+                company.setUf(uf);
+            }
+
+            if (dto.suppliersIds() != null && !dto.suppliersIds().isEmpty()) {
+                validateParanaSupplierCondition(company.getUf(), dto.suppliersIds());
+
+                replaceSuppliers(id, dto.suppliersIds());
+            }
+
+            return toCompanyResponseDetailsDTO(toCompanyRow(company), new HashSet<>(companyRepository.findSupplierSummaries(id)));
+        });
+    }
+
+    /**
+     * Applies only the difference between the current and the requested suppliers, as one delete and one
+     * insert, instead of letting Hibernate delete and reinsert the whole collection.
+     */
+    private void replaceSuppliers(Long id, Set<Long> suppliersIds) {
+        Set<Long> current = companyRepository.findSupplierLinks(List.of(id)).stream()
+                .map(CompanySupplierLink::getSupplierId)
+                .collect(Collectors.toSet());
+
+        Set<Long> removed = new HashSet<>(current);
+        removed.removeAll(suppliersIds);
+
+        Set<Long> added = new HashSet<>(suppliersIds);
+        added.removeAll(current);
 
-            validateParanaSupplierCondition(company.getUf(), suppliers);
+        companySupplierJdbcRepository.deleteSuppliers(id, removed);
+        companySupplierJdbcRepository.insertSuppliers(id, added);
+    }
+
+    @Transactional
+    public void addSuppliers(Long id, Set<Long> suppliersIds) {
+        CompanyRow company = companyRepository.findRowById(id).orElseThrow(() -> new ItemNotFoundException("Company not found"));
 
-            company.getSuppliers().clear();
-            company.setSuppliers(suppliers);
+        validateParanaSupplierCondition(company.uf(), suppliersIds);
+
+        companySupplierJdbcRepository.insertSuppliers(id, suppliersIds);
+    }
+
+    @Transactional
+    public void removeSuppliers(Long id, Set<Long> suppliersIds) {
+        if (!companyRepository.existsById(id)) {
+            throw new ItemNotFoundException("Company not found");
         }
 
-        return toCompanyResponseDetailsDTO(company);
+        companySupplierJdbcRepository.deleteSuppliers(id, suppliersIds);
     }
 
+    @Transactional
     public void delete(Long id) {
         if (!companyRepository.existsById(id)) {
             throw new RuntimeException("Company not found");
         }
 
+        List<Long> suppliersIds = entityCacheProperties.enabled()
+                ? companyRepository.findSupplierLinks(List.of(id)).stream().map(CompanySupplierLink::getSupplierId).toList()
+                : List.of();
+
         companyRepository.deleteById(id);
+        associationCacheEvictor.evictLinks(List.of(), suppliersIds);
+    }
+
+    private static String documentPrefix(String query) {
+        String digits = SearchPatterns.documentDigits(query);
+        return SearchPatterns.startingWith(digits != null ? digits : query.strip());
+    }
+
+    /**
+     * Operators usually type the leading digits of a document, so a digit-only query is answered by the
+     * indexed prefix search and only falls back to the containment search when no document starts with it.
+     */
+    private String documentPattern(String query) {
+        String digits = SearchPatterns.documentDigits(query);
+
+        if (digits == null) {
+            return SearchPatterns.containing(query);
+        }
+
+        return companyRepository.existsByCnpjStartingWith(digits)
+                ? SearchPatterns.startingWith(digits)
+                : SearchPatterns.containing(digits);
     }
 
     @Transactional(readOnly = true)
     public Page<CompanyResponseDTO> search(String query, SearchType type, Pageable pageable) {
-        Page<Company> result;
+        Page<CompanyRow> result;
 
         if (query == null || query.isBlank()) {
-            result = companyRepository.findAll(pageable);
+            result = companyRepository.findAllRows(pageable);
         } else {
+            String pattern = SearchPatterns.containing(query);
+
             switch (type) {
-                case GENERAL -> result = companyRepository.findByNameOrCnpj(query, pageable);
-                case NAME -> result = companyRepository.findByNameContainingIgnoreCase(query, pageable);
-                case CPF_CNPJ -> result = companyRepository.findByCnpjContaining(query, pageable);
-                default -> result = companyRepository.findAll(pageable);
+                case GENERAL -> result = companyRepository.findByNameOrCnpjLike(pattern, pageable);
+                case NAME -> result = companyRepository.findByNameLike(pattern, pageable);
+                case CPF_CNPJ -> result = companyRepository.findByCnpjLike(documentPattern(query), pageable);
+                case CPF_CNPJ_PREFIX -> result = companyRepository.findByCnpjLike(documentPrefix(query), pageable);
+                default -> result = companyRepository.findAllRows(pageable);
             }
         }
 
-        return result.map(this::toCompanyResponseDTO);
+        return toCompanyResponsePage(result);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CompanyResponseDTO> search(String query, SearchType type, String after, int size) {
+        if (query == null || query.isBlank()) {
+            return findAll(after, size);
+        }
+
+        Cursors.checkSize(size);
+
+        long afterId = Cursors.decode(after);
+        Limit limit = Limit.of(size + 1);
+        List<CompanyRow> rows;
+
+        switch (type) {
+            case GENERAL -> rows = companyRepository.findByNameOrCnpjLikeAfter(SearchPatterns.containing(query), afterId, limit);
+            case NAME -> rows = companyRepository.findByNameLikeAfter(SearchPatterns.containing(query), afterId, limit);
+            case CPF_CNPJ -> rows = companyRepository.findByCnpjLikeAfter(documentPattern(query), afterId, limit);
+            case CPF_CNPJ_PREFIX -> rows = companyRepository.findByCnpjLikeAfter(documentPrefix(query), afterId, limit);
+            default -> rows = companyRepository.findRowsAfter(afterId, limit);
+        }
+
+        return toCompanyCursorPage(rows, size);
     }
 }
@@ -0,0 +1,47 @@
+package com.accenture.fsproject.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes export files one row at a time, so an export never holds more than the current row in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExportFileWriter {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes every row handed over by {@code source} as one JSON line. The output is buffered by the generator
+     * and flushed when it fills up, not after every row; it is left open for the caller.
+     */
+    public <T> void writeNdjson(OutputStream output, Consumer<Consumer<T>> source) {
+        ObjectWriter writer = objectMapper.writer()
+                .withRootValueSeparator((String) null)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        try (JsonGenerator generator = writer.createGenerator(output)) {
+            source.accept(row -> {
+                try {
+                    writer.writeValue(generator, row);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
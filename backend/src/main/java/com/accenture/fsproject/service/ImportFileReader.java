@@ -0,0 +1,158 @@
+package com.accenture.fsproject.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Reads bulk import files line by line and hands their rows over in chunks, so an import never holds the
+ * whole file in memory. Rows that cannot be parsed are still handed over, carrying the parse error.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImportFileReader {
+
+    public record Row<T>(long line, T value, String error) {}
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Reads a CSV file whose first line is a header. Each row is given to {@code mapper} as a map from
+     * lower-cased column name to its trimmed value, with empty values mapped to {@code null}.
+     */
+    public <T> void readCsv(InputStream input, Function<Map<String, String>, T> mapper, int chunkSize,
+                            Consumer<List<Row<T>>> chunkConsumer) {
+        try (BufferedReader reader = newReader(input)) {
+            String headerLine = reader.readLine();
+
+            if (headerLine == null) return;
+
+            List<String> header = splitCsvLine(headerLine).stream()
+                    .map(column -> column.toLowerCase(Locale.ROOT))
+                    .toList();
+
+            List<Row<T>> chunk = new ArrayList<>(chunkSize);
+            long lineNumber = 1;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+
+                if (line.isBlank()) continue;
+
+                chunk.add(toCsvRow(lineNumber, header, splitCsvLine(line), mapper));
+                chunk = flushIfFull(chunk, chunkSize, chunkConsumer);
+            }
+
+            if (!chunk.isEmpty()) chunkConsumer.accept(chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a newline-delimited JSON file, binding each line to {@code type}.
+     */
+    public <T> void readNdjson(InputStream input, Class<T> type, int chunkSize, Consumer<List<Row<T>>> chunkConsumer) {
+        try (BufferedReader reader = newReader(input)) {
+            List<Row<T>> chunk = new ArrayList<>(chunkSize);
+            long lineNumber = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+
+                if (line.isBlank()) continue;
+
+                try {
+                    chunk.add(new Row<>(lineNumber, objectMapper.readValue(line, type), null));
+                } catch (JsonProcessingException e) {
+                    chunk.add(new Row<>(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage()));
+                }
+
+                chunk = flushIfFull(chunk, chunkSize, chunkConsumer);
+            }
+
+            if (!chunk.isEmpty()) chunkConsumer.accept(chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> List<Row<T>> flushIfFull(List<Row<T>> chunk, int chunkSize, Consumer<List<Row<T>>> chunkConsumer) {
+        if (chunk.size() < chunkSize) return chunk;
+
+        chunkConsumer.accept(chunk);
+        return new ArrayList<>(chunkSize);
+    }
+
+    private static <T> Row<T> toCsvRow(long lineNumber, List<String> header, List<String> values,
+                                       Function<Map<String, String>, T> mapper) {
+        if (values.size() > header.size()) {
+            return new Row<>(lineNumber, null, "Row has more columns than the header.");
+        }
+
+        Map<String, String> columns = new HashMap<>();
+
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).trim();
+            columns.put(header.get(i), value.isEmpty() ? null : value);
+        }
+
+        try {
+            return new Row<>(lineNumber, mapper.apply(columns), null);
+        } catch (RuntimeException e) {
+            return new Row<>(lineNumber, null, e.getMessage());
+        }
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        values.add(current.toString());
+        return values;
+    }
+
+    private static BufferedReader newReader(InputStream input) {
+        return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,27 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.dto.supplier.SupplierResponseDTO;
+import com.accenture.fsproject.repository.SupplierJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+
+/**
+ * Full supplier export. Suppliers and their company IDs are read through a single forward-only cursor over
+ * {@code supplier LEFT JOIN company_supplier} and written as they arrive, so memory stays constant regardless
+ * of table size.
+ */
+@Service
+@RequiredArgsConstructor
+public class SupplierExportService {
+
+    private final SupplierJdbcRepository supplierJdbcRepository;
+    private final ExportFileWriter exportFileWriter;
+
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream output) {
+        exportFileWriter.<SupplierResponseDTO>writeNdjson(output, supplierJdbcRepository::streamAllWithCompaniesIds);
+    }
+}
@@ -0,0 +1,314 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.config.CepProperties;
+import com.accenture.fsproject.config.ImportProperties;
+import com.accenture.fsproject.dto.cep.CepResponseDTO;
+import com.accenture.fsproject.dto.imports.ImportReportDTO;
+import com.accenture.fsproject.dto.imports.ImportRowResultDTO;
+import com.accenture.fsproject.dto.supplier.SupplierCreateDTO;
+import com.accenture.fsproject.model.Supplier;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import com.accenture.fsproject.model.enums.ImportRowStatus;
+import com.accenture.fsproject.model.enums.SupplierType;
+import com.accenture.fsproject.repository.CompanyRepository;
+import com.accenture.fsproject.repository.CompanySupplierJdbcRepository;
+import com.accenture.fsproject.repository.SupplierJdbcRepository;
+import com.accenture.fsproject.repository.SupplierRepository;
+import com.accenture.fsproject.util.CepUfResolver;
+import com.accenture.fsproject.util.CpfCnpjValidator;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk supplier import. Rows are processed in chunks: each chunk is validated in parallel, its distinct CEPs
+ * are resolved through one CEP batch lookup, its CPF/CNPJs, RGs, company IDs and Paraná companies are checked
+ * with one query each, and its suppliers and {@code company_supplier} rows are written with batched inserts in a
+ * single transaction, without loading any {@code Company} entity. A chunk the database still rejects, for a
+ * CPF/CNPJ or RG inserted concurrently, is retried row by row so only the offending rows fail.
+ */
+@Service
+@RequiredArgsConstructor
+public class SupplierImportService {
+
+    private static final DateTimeFormatter BIRTHDATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final SupplierRepository supplierRepository;
+    private final CompanyRepository companyRepository;
+    private final SupplierJdbcRepository supplierJdbcRepository;
+    private final CompanySupplierJdbcRepository companySupplierJdbcRepository;
+
+    private final CepService cepService;
+    private final CepProperties cepProperties;
+    private final ImportFileReader importFileReader;
+    private final ImportProperties importProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    public ImportReportDTO importCsv(InputStream input) {
+        List<ImportRowResultDTO> results = new ArrayList<>();
+
+        importFileReader.readCsv(input, SupplierImportService::fromCsvColumns, importProperties.chunkSize(),
+                chunk -> results.addAll(importChunk(chunk)));
+
+        return ImportReportDTO.of(results);
+    }
+
+    public ImportReportDTO importNdjson(InputStream input) {
+        List<ImportRowResultDTO> results = new ArrayList<>();
+
+        importFileReader.readNdjson(input, SupplierCreateDTO.class, importProperties.chunkSize(),
+                chunk -> results.addAll(importChunk(chunk)));
+
+        return ImportReportDTO.of(results);
+    }
+
+    private static SupplierCreateDTO fromCsvColumns(Map<String, String> columns) {
+        String type = columns.get("type");
+        String birthdate = columns.get("birthdate");
+        String companiesIds = columns.get("companiesids");
+
+        return new SupplierCreateDTO(
+                columns.get("name"),
+                type != null ? SupplierType.valueOf(type.toUpperCase(Locale.ROOT)) : null,
+                columns.get("cpfcnpj"),
+                columns.get("rg"),
+                birthdate != null ? LocalDate.parse(birthdate, BIRTHDATE_FORMAT) : null,
+                columns.get("email"),
+                columns.get("cep"),
+                null,
+                companiesIds != null
+                        ? Arrays.stream(companiesIds.split(";")).map(String::trim).map(Long::valueOf).collect(Collectors.toSet())
+                        : null
+        );
+    }
+
+    private List<ImportRowResultDTO> importChunk(List<ImportFileReader.Row<SupplierCreateDTO>> chunk) {
+        ImportRowResultDTO[] results = new ImportRowResultDTO[chunk.size()];
+
+        String[] errors = IntStream.range(0, chunk.size())
+                .parallel()
+                .mapToObj(i -> chunk.get(i).error() != null ? chunk.get(i).error() : validate(chunk.get(i).value()))
+                .toArray(String[]::new);
+
+        List<Integer> candidates = new ArrayList<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            if (errors[i] != null) {
+                results[i] = failed(chunk.get(i), errors[i]);
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        Set<String> existingCpfCnpjs = candidates.isEmpty() ? Set.of() : supplierJdbcRepository.findExistingCpfCnpjs(
+                candidates.stream().map(i -> chunk.get(i).value().cpfCnpj()).collect(Collectors.toSet()));
+
+        Set<String> requestedRgs = candidates.stream()
+                .map(i -> chunk.get(i).value().rg())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Set<String> existingRgs = requestedRgs.isEmpty() ? Set.of() : supplierRepository.findExistingRgs(requestedRgs);
+
+        Set<Long> requestedCompaniesIds = candidates.stream()
+                .map(i -> chunk.get(i).value().companiesIds())
+                .filter(Objects::nonNull)
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet());
+
+        Set<Long> existingCompaniesIds = requestedCompaniesIds.isEmpty()
+                ? Set.of()
+                : companyRepository.findExistingIds(requestedCompaniesIds);
+
+        Set<Long> underageCompaniesIds = candidates.stream()
+                .map(i -> chunk.get(i).value())
+                .filter(dto -> dto.companiesIds() != null && SupplierService.isUnderagePf(dto.type(), dto.birthdate()))
+                .flatMap(dto -> dto.companiesIds().stream())
+                .collect(Collectors.toSet());
+
+        Set<Long> paranaCompaniesIds = underageCompaniesIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(companyRepository.findIdsByUf(
+                        underageCompaniesIds, FederativeUnit.PR, Limit.of(underageCompaniesIds.size())));
+
+        List<String> ceps = candidates.stream().map(i -> chunk.get(i).value().cep()).distinct().toList();
+        Map<String, FederativeUnit> ufsByCep = new HashMap<>();
+        Map<String, String> cepErrors = new HashMap<>();
+
+        for (int from = 0; from < ceps.size(); from += cepProperties.batch().maxSize()) {
+            resolveUfs(ceps.subList(from, Math.min(from + cepProperties.batch().maxSize(), ceps.size())),
+                    ufsByCep, cepErrors);
+        }
+
+        Set<String> chunkCpfCnpjs = new HashSet<>();
+        Set<String> chunkRgs = new HashSet<>();
+        List<Integer> accepted = new ArrayList<>();
+        List<Supplier> suppliers = new ArrayList<>();
+
+        for (Integer i : candidates) {
+            ImportFileReader.Row<SupplierCreateDTO> row = chunk.get(i);
+            SupplierCreateDTO dto = row.value();
+            List<Long> paranaCompanies = paranaCompanies(dto, paranaCompaniesIds);
+
+            if (existingCpfCnpjs.contains(dto.cpfCnpj())) {
+                results[i] = failed(row, "Supplier with this CPF/CNPJ already exists.");
+            } else if (!chunkCpfCnpjs.add(dto.cpfCnpj())) {
+                results[i] = failed(row, "CPF/CNPJ is repeated in the import file.");
+            } else if (dto.rg() != null && existingRgs.contains(dto.rg())) {
+                results[i] = failed(row, "Supplier with this RG already exists.");
+            } else if (dto.rg() != null && !chunkRgs.add(dto.rg())) {
+                results[i] = failed(row, "RG is repeated in the import file.");
+            } else if (cepErrors.containsKey(dto.cep())) {
+                results[i] = failed(row, cepErrors.get(dto.cep()));
+            } else if (!paranaCompanies.isEmpty()) {
+                results[i] = failed(row, "Underage PF supplier cannot be added to the following companies from Paraná: "
+                        + paranaCompanies);
+            } else {
+                Supplier supplier = new Supplier();
+                supplier.setType(dto.type());
+                supplier.setName(dto.name());
+                supplier.setCpfCnpj(dto.cpfCnpj());
+                supplier.setRg(dto.rg());
+                supplier.setBirthdate(dto.birthdate());
+                supplier.setEmail(dto.email());
+                supplier.setCep(dto.cep());
+                supplier.setUf(ufsByCep.get(dto.cep()));
+
+                suppliers.add(supplier);
+                accepted.add(i);
+            }
+        }
+
+        boolean chunkSaved = save(suppliers, accepted.stream().map(chunk::get).toList(), existingCompaniesIds) == null;
+
+        for (int k = 0; k < accepted.size(); k++) {
+            ImportFileReader.Row<SupplierCreateDTO> row = chunk.get(accepted.get(k));
+            String saveError = chunkSaved ? null : save(List.of(suppliers.get(k)), List.of(row), existingCompaniesIds);
+            results[accepted.get(k)] = saveError == null ? imported(row) : failed(row, saveError);
+        }
+
+        return List.of(results);
+    }
+
+    private String save(List<Supplier> suppliers, List<ImportFileReader.Row<SupplierCreateDTO>> rows,
+                        Set<Long> existingCompaniesIds) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, Long> supplierIds = supplierJdbcRepository.insertAll(suppliers);
+                List<CompanySupplierJdbcRepository.Link> links = new ArrayList<>();
+
+                for (ImportFileReader.Row<SupplierCreateDTO> row : rows) {
+                    if (row.value().companiesIds() == null) continue;
+
+                    long supplierId = supplierIds.get(row.value().cpfCnpj());
+
+                    row.value().companiesIds().stream()
+                            .filter(existingCompaniesIds::contains)
+                            .forEach(companyId -> links.add(new CompanySupplierJdbcRepository.Link(companyId, supplierId)));
+                }
+
+                companySupplierJdbcRepository.insertAll(links);
+            });
+            return null;
+        } catch (DataAccessException e) {
+            return "Could not save row: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        }
+    }
+
+    /**
+     * The companies from Paraná among the row's targets when it is an underage PF supplier, capped like the
+     * error of {@link SupplierService} for the same rule.
+     */
+    private static List<Long> paranaCompanies(SupplierCreateDTO dto, Set<Long> paranaCompaniesIds) {
+        if (dto.companiesIds() == null || !SupplierService.isUnderagePf(dto.type(), dto.birthdate())) return List.of();
+
+        return dto.companiesIds().stream()
+                .filter(paranaCompaniesIds::contains)
+                .sorted()
+                .limit(SupplierService.MAX_REPORTED_IDS)
+                .toList();
+    }
+
+    /**
+     * Resolves the UFs of {@code ceps} with one ViaCep batch lookup, then attributes the CEPs the batch left
+     * unresolved, because ViaCep does not know them or the whole batch failed, from the offline CEP range table.
+     * CEPs neither can attribute get an error instead.
+     */
+    private void resolveUfs(List<String> ceps, Map<String, FederativeUnit> ufsByCep, Map<String, String> cepErrors) {
+        Map<String, CepResponseDTO> responses;
+        String batchError;
+
+        try {
+            responses = cepService.getCepInfoBatch(ceps);
+            batchError = null;
+        } catch (RuntimeException e) {
+            responses = Map.of();
+            batchError = e.getMessage();
+        }
+
+        for (String cep : ceps) {
+            CepResponseDTO response = responses.get(cep);
+            boolean found = response != null && response.uf() != null && !Boolean.TRUE.equals(response.notFound());
+            Optional<FederativeUnit> uf = found
+                    ? Optional.of(FederativeUnit.valueOf(response.uf()))
+                    : CepUfResolver.resolve(cep);
+
+            if (uf.isPresent()) {
+                ufsByCep.put(cep, uf.get());
+            } else {
+                cepErrors.put(cep, batchError != null ? batchError : "Invalid CEP.");
+            }
+        }
+    }
+
+    private String validate(SupplierCreateDTO dto) {
+        String violation = validator.validate(dto).stream()
+                .filter(v -> !v.getPropertyPath().toString().equals("uf"))
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .findFirst()
+                .orElse(null);
+
+        if (violation != null) return violation;
+
+        try {
+            CpfCnpjValidator.valid(dto.cpfCnpj());
+            SupplierService.validatePfFields(dto);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+
+        return null;
+    }
+
+    private static ImportRowResultDTO imported(ImportFileReader.Row<SupplierCreateDTO> row) {
+        return new ImportRowResultDTO(row.line(), row.value().cpfCnpj(), ImportRowStatus.IMPORTED, null);
+    }
+
+    private static ImportRowResultDTO failed(ImportFileReader.Row<SupplierCreateDTO> row, String message) {
+        String cpfCnpj = row.value() != null ? row.value().cpfCnpj() : null;
+        return new ImportRowResultDTO(row.line(), cpfCnpj, ImportRowStatus.FAILED, message);
+    }
+}
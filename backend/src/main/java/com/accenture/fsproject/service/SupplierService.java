@@ -1,60 +1,123 @@
 package com.accenture.fsproject.service;
 
+import com.accenture.fsproject.config.EntityCacheProperties;
 import com.accenture.fsproject.dto.company.CompanySummaryDTO;
 import com.accenture.fsproject.dto.supplier.SupplierCreateDTO;
 import com.accenture.fsproject.dto.supplier.SupplierResponseDTO;
 import com.accenture.fsproject.dto.supplier.SupplierResponseDetailsDTO;
 import com.accenture.fsproject.dto.supplier.SupplierUpdateDTO;
+import com.accenture.fsproject.dto.page.CursorPageDTO;
 import com.accenture.fsproject.exception.BusinessLogicException;
 import com.accenture.fsproject.exception.ItemNotFoundException;
-import com.accenture.fsproject.model.Company;
 import com.accenture.fsproject.model.Supplier;
+import com.accenture.fsproject.model.enums.DetailView;
 import com.accenture.fsproject.model.enums.FederativeUnit;
 import com.accenture.fsproject.model.enums.SearchType;
 import com.accenture.fsproject.model.enums.SupplierType;
+import com.accenture.fsproject.repository.AssociationCacheEvictor;
 import com.accenture.fsproject.repository.CompanyRepository;
+import com.accenture.fsproject.repository.CompanySupplierJdbcRepository;
+import com.accenture.fsproject.repository.CompanySupplierLink;
+import com.accenture.fsproject.repository.LinkedVersions;
 import com.accenture.fsproject.repository.SupplierRepository;
+import com.accenture.fsproject.repository.SupplierRow;
+import com.accenture.fsproject.repository.TableVersionRepository;
+import com.accenture.fsproject.repository.TableVersions;
 import com.accenture.fsproject.util.CpfCnpjValidator;
+import com.accenture.fsproject.util.Cursors;
+import com.accenture.fsproject.util.ETags;
+import com.accenture.fsproject.util.SearchPatterns;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Supplier reads run in read-only transactions. Writes validate the request and look its CEP up before opening
+ * a short transaction, so no connection is held while ViaCep answers.
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class SupplierService {
 
+    static final int MAX_REPORTED_IDS = 20;
+
     private final SupplierRepository supplierRepository;
     private final CompanyRepository companyRepository;
 
     private final CepService cepService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityCacheProperties entityCacheProperties;
+    private final AssociationCacheEvictor associationCacheEvictor;
+    private final CompanySupplierJdbcRepository companySupplierJdbcRepository;
+    private final TableVersionRepository tableVersionRepository;
 
-    private SupplierResponseDTO toSupplierResponseDTO(Supplier supplier) {
-        Set<Long> companiesIds = supplier.getCompanies().stream().map(Company::getId).collect(Collectors.toSet());
-
+    static SupplierResponseDTO toSupplierResponseDTO(SupplierRow supplier, Set<Long> companiesIds) {
         return new SupplierResponseDTO(
-                supplier.getId(),
-                supplier.getName(),
-                supplier.getType(),
-                supplier.getCpfCnpj(),
-                supplier.getRg(),
-                supplier.getBirthdate(),
-                supplier.getEmail(),
-                supplier.getCep(),
-                supplier.getUf(),
+                supplier.id(),
+                supplier.name(),
+                supplier.type(),
+                supplier.cpfCnpj(),
+                supplier.rg(),
+                supplier.birthdate(),
+                supplier.email(),
+                supplier.cep(),
+                supplier.uf(),
                 companiesIds
         );
     }
 
-    private SupplierResponseDetailsDTO toSupplierResponseDetailsDTO(Supplier supplier) {
+    private Map<Long, Set<Long>> findCompaniesIds(List<SupplierRow> suppliers) {
+        if (suppliers.isEmpty()) return Map.of();
+
+        List<Long> suppliersIds = suppliers.stream().map(SupplierRow::id).toList();
+
+        return supplierRepository.findCompanyLinks(suppliersIds)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        CompanySupplierLink::getSupplierId,
+                        Collectors.mapping(CompanySupplierLink::getCompanyId, Collectors.toSet())));
+    }
+
+    private Page<SupplierResponseDTO> toSupplierResponsePage(Page<SupplierRow> suppliers) {
+        Map<Long, Set<Long>> companiesIdsBySupplier = findCompaniesIds(suppliers.getContent());
+
+        return suppliers.map(supplier -> toSupplierResponseDTO(
+                supplier,
+                companiesIdsBySupplier.getOrDefault(supplier.id(), Set.of())));
+    }
+
+    private CursorPageDTO<SupplierResponseDTO> toSupplierCursorPage(List<SupplierRow> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        List<SupplierRow> suppliers = hasNext ? rows.subList(0, size) : rows;
+        Map<Long, Set<Long>> companiesIdsBySupplier = findCompaniesIds(suppliers);
+
+        List<SupplierResponseDTO> content = suppliers.stream()
+                .map(supplier -> toSupplierResponseDTO(supplier, companiesIdsBySupplier.getOrDefault(supplier.id(), Set.of())))
+                .toList();
+
+        String nextCursor = hasNext ? Cursors.encode(suppliers.get(size - 1).id()) : null;
+
+        return new CursorPageDTO<>(content, nextCursor, hasNext);
+    }
+
+    static SupplierResponseDetailsDTO toSupplierResponseDetailsDTO(Supplier supplier) {
         Set<CompanySummaryDTO> companies = supplier.getCompanies().stream().map(
                 company -> new CompanySummaryDTO(
+                        company.getId(),
                         company.getName(),
                         company.getCnpj(),
                         company.getCep(),
@@ -76,7 +139,22 @@ public class SupplierService {
         );
     }
 
-    private void validatePfFields(SupplierCreateDTO dto) {
+    private SupplierResponseDetailsDTO toSupplierResponseDetailsDTO(SupplierRow supplier, Set<CompanySummaryDTO> companies) {
+        return new SupplierResponseDetailsDTO(
+                supplier.id(),
+                supplier.name(),
+                supplier.type(),
+                supplier.cpfCnpj(),
+                supplier.rg(),
+                supplier.birthdate(),
+                supplier.email(),
+                supplier.cep(),
+                supplier.uf(),
+                companies
+        );
+    }
+
+    static void validatePfFields(SupplierCreateDTO dto) {
         if (dto.type() == SupplierType.PF) {
             if (dto.rg() == null || dto.birthdate() == null) {
                 throw new BusinessLogicException("PF supplier should have both \"birthdate\" and \"rg\" filled.");
@@ -84,6 +162,30 @@ public class SupplierService {
         }
     }
 
+    /**
+     * Companies from Paraná cannot have underage PF suppliers. The supplier's age is known up front, so only
+     * the IDs of the Paraná companies among the targets are queried, capped for the error message.
+     */
+    private void validateParanaCompanyCondition(Supplier supplier, Collection<Long> companiesIds) {
+        if (companiesIds.isEmpty() || !isUnderagePf(supplier.getType(), supplier.getBirthdate())) return;
+
+        List<Long> paranaCompanies = companyRepository.findIdsByUf(companiesIds, FederativeUnit.PR, Limit.of(MAX_REPORTED_IDS));
+
+        if (!paranaCompanies.isEmpty()) {
+            throw new BusinessLogicException("Underage PF supplier cannot be added to the following companies from Paraná: "
+                    + paranaCompanies);
+        }
+    }
+
+    static boolean isUnderagePf(SupplierType type, LocalDate birthdate) {
+        return type == SupplierType.PF && birthdate != null && Period.between(birthdate, LocalDate.now()).getYears() < 18;
+    }
+
+    private static SupplierRow toSupplierRow(Supplier supplier) {
+        return new SupplierRow(supplier.getId(), supplier.getName(), supplier.getType(), supplier.getCpfCnpj(),
+                supplier.getRg(), supplier.getBirthdate(), supplier.getEmail(), supplier.getCep(), supplier.getUf());
+    }
+
     public SupplierResponseDetailsDTO create(SupplierCreateDTO dto) {
 
         if (supplierRepository.existsByCpfCnpj(dto.cpfCnpj())) {
@@ -94,102 +196,258 @@ public class SupplierService {
 
         validatePfFields(dto);
 
-        Supplier supplier = new Supplier();
-        supplier.setType(dto.type());
-        supplier.setName(dto.name());
-        supplier.setCpfCnpj(dto.cpfCnpj());
-        supplier.setRg(dto.rg());
-        supplier.setBirthdate(dto.birthdate());
-        supplier.setEmail(dto.email());
-
-        FederativeUnit uf = FederativeUnit.valueOf(cepService.getCepInfo(dto.cep()).uf());
+        FederativeUnit uf = cepService.resolveUf(dto.cep());
 
-        supplier.setCep(dto.cep());
-        supplier.setUf(uf);
+        return transactionTemplate.execute(status -> {
+            Supplier supplier = new Supplier();
+            supplier.setType(dto.type());
+            supplier.setName(dto.name());
+            supplier.setCpfCnpj(dto.cpfCnpj());
+            supplier.setRg(dto.rg());
+            supplier.setBirthdate(dto.birthdate());
+            supplier.setEmail(dto.email());
+            supplier.setCep(dto.cep());
+            supplier.setUf(uf);
 
-        if (dto.companiesIds() != null && !dto.companiesIds().isEmpty()) {
-            Set<Company> companies = new HashSet<>(companyRepository.findAllById(dto.companiesIds()));
+            boolean linkCompanies = dto.companiesIds() != null && !dto.companiesIds().isEmpty();
+            if (linkCompanies) validateParanaCompanyCondition(supplier, dto.companiesIds());
 
-            supplier.setCompanies(companies);
+            Supplier saved = supplierRepository.save(supplier);
 
-            for (Company company : companies) {
-                company.getSuppliers().add(supplier);
-            }
-        }
+            if (linkCompanies) companySupplierJdbcRepository.insertCompanies(saved.getId(), dto.companiesIds());
 
-        Supplier saved = supplierRepository.save(supplier);
-        return toSupplierResponseDetailsDTO(saved);
+            return toSupplierResponseDetailsDTO(toSupplierRow(saved), new HashSet<>(supplierRepository.findCompanySummaries(saved.getId())));
+        });
     }
 
     @Transactional(readOnly = true)
     public Page<SupplierResponseDTO> findAll(Pageable pageable) {
-        Page<Supplier> response = supplierRepository.findAll(pageable);
-        return response.map(this::toSupplierResponseDTO);
+        Page<SupplierRow> response = supplierRepository.findAllRows(pageable);
+        return toSupplierResponsePage(response);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<SupplierResponseDTO> findAll(String after, int size) {
+        Cursors.checkSize(size);
+
+        List<SupplierRow> rows = supplierRepository.findRowsAfter(Cursors.decode(after), Limit.of(size + 1));
+        return toSupplierCursorPage(rows, size);
     }
 
+    /**
+     * Entity tag of the supplier details: the row's own version plus, unless the view is {@link DetailView#LIGHT},
+     * the count, ID sum and version sum of its linked companies, since the full body embeds them. The tag only
+     * reads this supplier's links, so writes to other companies or links leave it unchanged; the price is that
+     * unlinking one company and linking another whose ID and version add up to the same sums goes unnoticed.
+     * Versions are committed with the writes and read before the body, so a concurrent write can at worst pair
+     * a newer body with an older tag, which only costs one more full read.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> findDetailsETag(Long id, DetailView view) {
+        return supplierRepository.findVersionById(id).map(version -> {
+            if (view == DetailView.LIGHT) return ETags.of(version);
+
+            LinkedVersions companies = supplierRepository.findCompanyVersions(id);
+            return ETags.of(version, companies.count(), companies.idSum(), companies.versionSum());
+        });
+    }
+
+    /**
+     * Entity tag of the pages of a supplier's companies: the company and link table versions, read without
+     * touching the links. Empty when the supplier does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> findCompaniesETag(Long id) {
+        if (!supplierRepository.existsById(id)) return Optional.empty();
+
+        TableVersions tables = tableVersionRepository.findTableVersions();
+        return Optional.of(ETags.of(tables.company(), tables.companySupplier()));
+    }
+
+    /**
+     * Entity tag shared by every supplier listing and search page; it changes whenever any supplier or link does.
+     */
+    @Transactional(readOnly = true)
+    public String findListingETag() {
+        TableVersions tables = tableVersionRepository.findTableVersions();
+        return ETags.of(tables.supplier(), tables.companySupplier());
+    }
+
+    /**
+     * With the entity cache enabled, the supplier and its companies are loaded as entities so a hot supplier
+     * is served from the second-level cache; otherwise only the columns of the response are projected.
+     */
     @Transactional(readOnly = true)
     public SupplierResponseDetailsDTO findById(Long id) {
-        Supplier supplier =  supplierRepository
-                .findById(id)
+        if (entityCacheProperties.enabled()) {
+            return supplierRepository.findById(id)
+                    .map(SupplierService::toSupplierResponseDetailsDTO)
+                    .orElseThrow(() -> new ItemNotFoundException("Supplier not found"));
+        }
+
+        SupplierRow supplier = supplierRepository
+                .findRowById(id)
                 .orElseThrow(() -> new ItemNotFoundException("Supplier not found"));
 
-        return toSupplierResponseDetailsDTO(supplier);
+        Set<CompanySummaryDTO> companies = new HashSet<>(supplierRepository.findCompanySummaries(id));
+
+        return toSupplierResponseDetailsDTO(supplier, companies);
     }
 
-    public SupplierResponseDetailsDTO update(Long id, SupplierUpdateDTO dto) {
-        Supplier supplier = supplierRepository
-                .findById(id)
-                .orElseThrow(() -> new ItemNotFoundException("Supplier not found"));
+    /**
+     * The light view leaves the companies out, so it costs the same for any supplier; they are paged through
+     * {@link #findCompanies} instead.
+     */
+    @Transactional(readOnly = true)
+    public SupplierResponseDetailsDTO findById(Long id, DetailView view) {
+        if (view != DetailView.LIGHT) return findById(id);
 
-        if (dto.name() != null) supplier.setName(dto.name());
-        if (dto.rg() != null) supplier.setRg(dto.rg());
-        if (dto.birthdate() != null) supplier.setBirthdate(dto.birthdate());
-        if (dto.email() != null) supplier.setEmail(dto.email());
+        return supplierRepository.findRowById(id)
+                .map(supplier -> toSupplierResponseDetailsDTO(supplier, null))
+                .orElseThrow(() -> new ItemNotFoundException("Supplier not found"));
+    }
 
-        if (dto.cep() != null) {
-            FederativeUnit uf = FederativeUnit.valueOf(cepService.getCepInfo(dto.cep()).uf());
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CompanySummaryDTO> findCompanies(Long id, FederativeUnit uf, String after, int size) {
+        Cursors.checkSize(size);
 
-            supplier.setCep(dto.cep());
-            supplier.setUf(uf);
+        if (!supplierRepository.existsById(id)) {
+            throw new ItemNotFoundException("Supplier not found");
         }
 
-        if (dto.companiesIds() != null && !dto.companiesIds().isEmpty()) {
-            Set<Company> companies = new HashSet<>(companyRepository.findAllById(dto.companiesIds()));
+        List<CompanySummaryDTO> rows = companySupplierJdbcRepository.findCompanies(id, uf, Cursors.decode(after), size + 1);
 
-            supplier.getCompanies().clear();
-            supplier.setCompanies(companies);
+        boolean hasNext = rows.size() > size;
+        List<CompanySummaryDTO> companies = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? Cursors.encode(companies.getLast().id()) : null;
 
-            for (Company company : companies) {
-                company.getSuppliers().add(supplier);
+        return new CursorPageDTO<>(companies, nextCursor, hasNext);
+    }
+
+    public SupplierResponseDetailsDTO update(Long id, SupplierUpdateDTO dto) {
+        FederativeUnit uf = dto.cep() != null ? cepService.resolveUf(dto.cep()) : null;
+
+        return transactionTemplate.execute(status -> {
+            Supplier supplier = supplierRepository
+                    .findById(id)
+                    .orElseThrow(() -> new ItemNotFoundException("Supplier not found"));
+
+            if (dto.name() != null) supplier.setName(dto.name());
+            if (dto.rg() != null) supplier.setRg(dto.rg());
+            if (dto.birthdate() != null) supplier.setBirthdate(dto.birthdate());
+            if (dto.email() != null) supplier.setEmail(dto.email());
+
+            if (uf != null) {
+                supplier.setCep(dto.cep());
+                supplier.setUf(uf);
             }
-        }
 
-        return toSupplierResponseDetailsDTO(supplier);
+            if (dto.companiesIds() != null && !dto.companiesIds().isEmpty()) {
+                validateParanaCompanyCondition(supplier, dto.companiesIds());
+
+                replaceCompanies(id, dto.companiesIds());
+            }
+
+            return toSupplierResponseDetailsDTO(toSupplierRow(supplier), new HashSet<>(supplierRepository.findCompanySummaries(id)));
+        });
     }
 
+    /**
+     * Applies only the difference between the current and the requested companies, straight on
+     * {@code company_supplier}, so no company's supplier collection is loaded.
+     */
+    private void replaceCompanies(Long id, Set<Long> companiesIds) {
+        Set<Long> current = supplierRepository.findCompanyLinks(List.of(id)).stream()
+                .map(CompanySupplierLink::getCompanyId)
+                .collect(Collectors.toSet());
+
+        Set<Long> removed = new HashSet<>(current);
+        removed.removeAll(companiesIds);
+
+        Set<Long> added = new HashSet<>(companiesIds);
+        added.removeAll(current);
+
+        companySupplierJdbcRepository.deleteCompanies(id, removed);
+        companySupplierJdbcRepository.insertCompanies(id, added);
+    }
+
+    @Transactional
     public void delete(Long id) {
         if (!supplierRepository.existsById(id)) {
             throw new RuntimeException("Supplier not found");
         }
 
+        List<Long> companiesIds = entityCacheProperties.enabled()
+                ? supplierRepository.findCompanyLinks(List.of(id)).stream().map(CompanySupplierLink::getCompanyId).toList()
+                : List.of();
+
+        // company_supplier rows go with ON DELETE CASCADE, behind Hibernate's back.
         supplierRepository.deleteById(id);
+        associationCacheEvictor.evictLinks(companiesIds, List.of());
+    }
+
+    private static String documentPrefix(String query) {
+        String digits = SearchPatterns.documentDigits(query);
+        return SearchPatterns.startingWith(digits != null ? digits : query.strip());
+    }
+
+    /**
+     * Operators usually type the leading digits of a document, so a digit-only query is answered by the
+     * indexed prefix search and only falls back to the containment search when no document starts with it.
+     */
+    private String documentPattern(String query) {
+        String digits = SearchPatterns.documentDigits(query);
+
+        if (digits == null) {
+            return SearchPatterns.containing(query);
+        }
+
+        return supplierRepository.existsByCpfCnpjStartingWith(digits)
+                ? SearchPatterns.startingWith(digits)
+                : SearchPatterns.containing(digits);
     }
 
     @Transactional(readOnly = true)
     public Page<SupplierResponseDTO> search(String query, SearchType type, Pageable pageable) {
-        Page<Supplier> result;
+        Page<SupplierRow> result;
 
         if (query == null || query.isBlank()) {
-            result = supplierRepository.findAll(pageable);
+            result = supplierRepository.findAllRows(pageable);
         } else {
+            String pattern = SearchPatterns.containing(query);
+
             switch (type) {
-                case GENERAL -> result = supplierRepository.findByNameOrCpfCnpj(query, pageable);
-                case NAME -> result = supplierRepository.findByNameContainingIgnoreCase(query, pageable);
-                case CPF_CNPJ -> result = supplierRepository.findByCpfCnpjContaining(query, pageable);
-                default -> result = supplierRepository.findAll(pageable);
+                case GENERAL -> result = supplierRepository.findByNameOrCpfCnpjLike(pattern, pageable);
+                case NAME -> result = supplierRepository.findByNameLike(pattern, pageable);
+                case CPF_CNPJ -> result = supplierRepository.findByCpfCnpjLike(documentPattern(query), pageable);
+                case CPF_CNPJ_PREFIX -> result = supplierRepository.findByCpfCnpjLike(documentPrefix(query), pageable);
+                default -> result = supplierRepository.findAllRows(pageable);
             }
         }
 
-        return result.map(this::toSupplierResponseDTO);
+        return toSupplierResponsePage(result);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<SupplierResponseDTO> search(String query, SearchType type, String after, int size) {
+        if (query == null || query.isBlank()) {
+            return findAll(after, size);
+        }
+
+        Cursors.checkSize(size);
+
+        long afterId = Cursors.decode(after);
+        Limit limit = Limit.of(size + 1);
+        List<SupplierRow> rows;
+
+        switch (type) {
+            case GENERAL -> rows = supplierRepository.findByNameOrCpfCnpjLikeAfter(SearchPatterns.containing(query), afterId, limit);
+            case NAME -> rows = supplierRepository.findByNameLikeAfter(SearchPatterns.containing(query), afterId, limit);
+            case CPF_CNPJ -> rows = supplierRepository.findByCpfCnpjLikeAfter(documentPattern(query), afterId, limit);
+            case CPF_CNPJ_PREFIX -> rows = supplierRepository.findByCpfCnpjLikeAfter(documentPrefix(query), afterId, limit);
+            default -> rows = supplierRepository.findRowsAfter(afterId, limit);
+        }
+
+        return toSupplierCursorPage(rows, size);
     }
 }
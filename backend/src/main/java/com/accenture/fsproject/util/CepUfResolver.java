@@ -0,0 +1,82 @@
+package com.accenture.fsproject.util;
+
+import com.accenture.fsproject.model.enums.FederativeUnit;
+
+import java.util.Optional;
+
+import static com.accenture.fsproject.model.enums.FederativeUnit.*;
+
+/**
+ * Resolves the {@link FederativeUnit} of a CEP from the Correios CEP ranges, without any network call.
+ * <p>
+ * Ranges are kept as sorted primitive arrays and searched with a binary search. CEPs outside every known
+ * range (unassigned prefixes or ranges not attributed to a single state) are not resolved, so callers can
+ * fall back to ViaCep for them.
+ */
+public final class CepUfResolver {
+    private CepUfResolver() {}
+
+    private static final int[] RANGE_STARTS = {
+            1000000, 20000000, 29000000, 30000000, 40000000, 49000000, 50000000, 57000000,
+            58000000, 59000000, 60000000, 64000000, 65000000, 66000000, 68900000, 69000000,
+            69300000, 69400000, 69900000, 70000000, 72800000, 73000000, 73700000, 76800000,
+            77000000, 78000000, 79000000, 80000000, 88000000, 90000000
+    };
+
+    private static final int[] RANGE_ENDS = {
+            19999999, 28999999, 29999999, 39999999, 48999999, 49999999, 56999999, 57999999,
+            58999999, 59999999, 63999999, 64999999, 65999999, 68899999, 68999999, 69299999,
+            69399999, 69899999, 69999999, 72799999, 72999999, 73699999, 76799999, 76999999,
+            77999999, 78899999, 79999999, 87999999, 89999999, 99999999
+    };
+
+    private static final FederativeUnit[] RANGE_UFS = {
+            SP, RJ, ES, MG, BA, SE, PE, AL,
+            PB, RN, CE, PI, MA, PA, AP, AM,
+            RR, AM, AC, DF, GO, DF, GO, RO,
+            TO, MT, MS, PR, SC, RS
+    };
+
+    /**
+     * @param normalizedCep a CEP with exactly 8 digits and no separators
+     * @return the UF whose range contains the CEP, or empty when the CEP is outside every known range
+     */
+    public static Optional<FederativeUnit> resolve(String normalizedCep) {
+        int cep = toInt(normalizedCep);
+
+        if (cep < 0) return Optional.empty();
+
+        int low = 0;
+        int high = RANGE_STARTS.length - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+
+            if (cep < RANGE_STARTS[mid]) {
+                high = mid - 1;
+            } else if (cep > RANGE_ENDS[mid]) {
+                low = mid + 1;
+            } else {
+                return Optional.of(RANGE_UFS[mid]);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static int toInt(String normalizedCep) {
+        if (normalizedCep == null || normalizedCep.length() != 8) return -1;
+
+        int value = 0;
+
+        for (int i = 0; i < 8; i++) {
+            int digit = normalizedCep.charAt(i) - '0';
+
+            if (digit < 0 || digit > 9) return -1;
+
+            value = value * 10 + digit;
+        }
+
+        return value;
+    }
+}
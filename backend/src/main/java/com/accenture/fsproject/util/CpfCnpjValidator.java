@@ -2,105 +2,132 @@ package com.accenture.fsproject.util;
 
 import com.accenture.fsproject.exception.BusinessLogicException;
 
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Validates CPF and CNPJ check digits. Non-digit characters are ignored, so formatted documents are accepted.
+ * A single pass over the characters accumulates the check-digit sums of both document types at once, so
+ * validation allocates nothing and never builds an intermediate string.
+ */
 public final class CpfCnpjValidator {
     private CpfCnpjValidator() {}
 
-    public static void valid(String cpfCnpj) {
-        if (cpfCnpj == null || cpfCnpj.isBlank()) throw new BusinessLogicException("CPF/CNPJ is required.");
+    private static final int VALID = 0;
+    private static final int REQUIRED = 1;
+    private static final int INVALID = 2;
+    private static final int INVALID_CPF = 3;
+    private static final int INVALID_CNPJ = 4;
 
-        String digits = cpfCnpj.replaceAll("\\D", "");
+    private static final int CPF_LENGTH = 11;
+    private static final int CNPJ_LENGTH = 14;
 
-        if (isAllSame(digits)) throw new BusinessLogicException("Invalid CPF/CNPJ.");
+    /**
+     * Weights of the second CNPJ check digit. The first check digit uses the same weights shifted by one.
+     */
+    private static final int[] CNPJ_WEIGHTS = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
 
-        if (digits.matches("\\d{11}")) {
-            if (!validCpf(digits)) {
-                throw new BusinessLogicException("Invalid CPF.");
-            }
-        } else if (digits.matches("\\d{14}")) {
-            if (!validCnpj(digits)) {
-                throw new BusinessLogicException("Invalid CNPJ.");
-            }
-        } else {
-            throw new BusinessLogicException("Invalid CPF/CNPJ.");
+    public static void valid(String cpfCnpj) {
+        switch (check(cpfCnpj)) {
+            case VALID -> { }
+            case REQUIRED -> throw new BusinessLogicException("CPF/CNPJ is required.");
+            case INVALID_CPF -> throw new BusinessLogicException("Invalid CPF.");
+            case INVALID_CNPJ -> throw new BusinessLogicException("Invalid CNPJ.");
+            default -> throw new BusinessLogicException("Invalid CPF/CNPJ.");
         }
     }
 
-    private static boolean validCpf(String cpf) {
-        if (cpf == null) return false;
-
-        String digits = cpf.replaceAll("\\D", "");
-
-        if (!digits.matches("\\d{11}")) {
-            return false;
-        }
-
-        int sum = 0;
+    public static boolean isValid(String cpfCnpj) {
+        return check(cpfCnpj) == VALID;
+    }
 
-        for (int i = 10; i >= 2; i--) {
-            sum += Character.getNumericValue(digits.charAt(10 - i)) * i;
+    /**
+     * Validates every document of a batch.
+     *
+     * @return a bitmap with bit {@code i} set when the {@code i}-th document, in iteration order, is valid
+     */
+    public static BitSet validateAll(Collection<String> cpfCnpjs) {
+        BitSet valid = new BitSet(cpfCnpjs.size());
+        int index = 0;
+
+        for (String cpfCnpj : cpfCnpjs) {
+            if (check(cpfCnpj) == VALID) valid.set(index);
+            index++;
         }
 
-        sum *= 10;
-        int mod = sum % 11;
-
-        if (mod == 10) mod = 0;
+        return valid;
+    }
 
-        if((char)(mod + '0') != digits.charAt(9)) return false;
+    private static int check(String cpfCnpj) {
+        if (cpfCnpj == null || cpfCnpj.isBlank()) return REQUIRED;
 
-        sum = 0;
+        int count = 0;
+        char first = 0;
+        boolean allSame = true;
 
-        for (int i = 11; i >= 3; i--) {
-            sum += Character.getNumericValue(digits.charAt(11 - i)) * i;
-        }
+        int cpfSum1 = 0;
+        int cpfSum2 = 0;
+        int cnpjSum1 = 0;
+        int cnpjSum2 = 0;
+        int cpfDigit1 = 0;
+        int cpfDigit2 = 0;
+        int cnpjDigit1 = 0;
+        int cnpjDigit2 = 0;
 
-        sum += mod * 2;
-        sum *= 10;
-        mod = sum % 11;
+        for (int i = 0; i < cpfCnpj.length(); i++) {
+            char c = cpfCnpj.charAt(i);
 
-        if (mod == 10) mod = 0;
+            if (c < '0' || c > '9') continue;
+            if (count == CNPJ_LENGTH) return INVALID;
 
-        return (char)(mod + '0') == digits.charAt(10);
-    }
+            int digit = c - '0';
 
-    private static boolean validCnpj(String cnpj) {
-        if (cnpj == null) return false;
+            if (count == 0) first = c;
+            else if (c != first) allSame = false;
 
-        String digits = cnpj.replaceAll("\\D", "");
+            if (count < 9) {
+                cpfSum1 += digit * (10 - count);
+                cpfSum2 += digit * (11 - count);
+            } else if (count == 9) {
+                cpfDigit1 = digit;
+            } else if (count == 10) {
+                cpfDigit2 = digit;
+            }
 
-        if (!digits.matches("\\d{14}")) {
-            return false;
-        }
+            if (count < 12) cnpjSum1 += digit * CNPJ_WEIGHTS[count + 1];
+            if (count < 13) cnpjSum2 += digit * CNPJ_WEIGHTS[count];
 
-        int[] weights = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
-        int sum = 0;
+            if (count == 12) cnpjDigit1 = digit;
+            else if (count == 13) cnpjDigit2 = digit;
 
-        for (int i=0; i<12; i++) {
-            sum += Character.getNumericValue(digits.charAt(i)) * weights[i];
+            count++;
         }
 
-        int mod = sum % 11;
+        if (count > 0 && allSame) return INVALID;
 
-        if (mod == 0 || mod == 1) mod = 0;
-        else mod = 11 - mod;
+        if (count == CPF_LENGTH) {
+            int mod = cpfCheckDigit(cpfSum1);
+            if (mod != cpfDigit1) return INVALID_CPF;
 
-        if((char)(mod + '0') != digits.charAt(12)) return false;
-
-        int[] weights2 = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
-        sum = 0;
-
-        for (int i = 0; i < 13; i++) {
-            sum += Character.getNumericValue(digits.charAt(i)) * weights2[i];
+            return cpfCheckDigit(cpfSum2 + mod * 2) == cpfDigit2 ? VALID : INVALID_CPF;
         }
 
-        mod = sum % 11;
+        if (count == CNPJ_LENGTH) {
+            return cnpjCheckDigit(cnpjSum1) == cnpjDigit1 && cnpjCheckDigit(cnpjSum2) == cnpjDigit2
+                    ? VALID
+                    : INVALID_CNPJ;
+        }
 
-        if (mod == 0 || mod == 1) mod = 0;
-        else mod = 11 - mod;
+        return INVALID;
+    }
 
-        return (char)(mod + '0') == digits.charAt(13);
+    private static int cpfCheckDigit(int sum) {
+        int mod = sum * 10 % 11;
+        return mod == 10 ? 0 : mod;
     }
 
-    private static boolean isAllSame(String s) {
-        return !s.isEmpty() && s.matches("^(.)\\1*$");
+    private static int cnpjCheckDigit(int sum) {
+        int mod = sum % 11;
+        return mod < 2 ? 0 : 11 - mod;
     }
 }
@@ -0,0 +1,46 @@
+package com.accenture.fsproject.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursors for the keyset listings. A cursor carries the ID of the last row of a page; the next page is
+ * read with {@code id > :afterId ORDER BY id}, so it costs the same at any depth and needs no count query.
+ */
+public final class Cursors {
+    public static final int MAX_SIZE = 1000;
+
+    private static final String PREFIX = "id:";
+
+    private Cursors() {}
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Returns the ID to continue after, or {@code 0} (before every identity value) for a missing cursor.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return 0;
+
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+
+            if (value.startsWith(PREFIX)) {
+                return Long.parseLong(value.substring(PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // falls through to the invalid cursor error below
+        }
+
+        throw new IllegalArgumentException("Invalid cursor.");
+    }
+
+    public static void checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SIZE + ".");
+        }
+    }
+}
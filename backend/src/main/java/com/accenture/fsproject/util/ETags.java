@@ -0,0 +1,22 @@
+package com.accenture.fsproject.util;
+
+/**
+ * Entity tags built from version counters instead of response bodies, so a conditional GET is answered without
+ * loading or serializing the payload. The tags are weak: they identify the data, not the bytes of a possibly
+ * compressed representation.
+ */
+public final class ETags {
+
+    private ETags() {}
+
+    public static String of(long... versions) {
+        StringBuilder tag = new StringBuilder("W/\"");
+
+        for (int i = 0; i < versions.length; i++) {
+            if (i > 0) tag.append('-');
+            tag.append(Long.toHexString(versions[i]));
+        }
+
+        return tag.append('"').toString();
+    }
+}
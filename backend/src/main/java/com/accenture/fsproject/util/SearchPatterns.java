@@ -0,0 +1,57 @@
+package com.accenture.fsproject.util;
+
+import java.util.Locale;
+
+/**
+ * Builds {@code LIKE} patterns for the search queries. Patterns are lower-cased so they match the
+ * {@code lower(name)} trigram indexes, and the keyword's own {@code %}, {@code _} and {@code \} are escaped
+ * so they are matched literally (the queries declare {@code ESCAPE '\'}). Prefix patterns have no leading
+ * wildcard, so PostgreSQL can answer them with a range scan on the {@code text_pattern_ops} document indexes.
+ */
+public final class SearchPatterns {
+    private SearchPatterns() {}
+
+    public static String containing(String keyword) {
+        return "%" + escape(keyword.toLowerCase(Locale.ROOT)) + "%";
+    }
+
+    public static String startingWith(String keyword) {
+        return escape(keyword.toLowerCase(Locale.ROOT)) + "%";
+    }
+
+    /**
+     * Returns the digits of a keyword that looks like a (partial) CPF/CNPJ, i.e. only digits and the usual
+     * {@code .}, {@code -}, {@code /} and space separators, or {@code null} for any other keyword.
+     */
+    public static String documentDigits(String keyword) {
+        StringBuilder digits = new StringBuilder(14);
+
+        for (int i = 0; i < keyword.length(); i++) {
+            char c = keyword.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c != '.' && c != '-' && c != '/' && c != ' ') {
+                return null;
+            }
+        }
+
+        return digits.isEmpty() ? null : digits.toString();
+    }
+
+    private static String escape(String keyword) {
+        StringBuilder escaped = new StringBuilder(keyword.length() + 8);
+
+        for (int i = 0; i < keyword.length(); i++) {
+            char c = keyword.charAt(i);
+
+            if (c == '\\' || c == '%' || c == '_') {
+                escaped.append('\\');
+            }
+
+            escaped.append(c);
+        }
+
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,7 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_company_name_trgm ON company USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX idx_company_cnpj_trgm ON company USING gin (cnpj gin_trgm_ops);
+
+CREATE INDEX idx_supplier_name_trgm ON supplier USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX idx_supplier_cpfcnpj_trgm ON supplier USING gin (cpf_cnpj gin_trgm_ops);
@@ -0,0 +1,5 @@
+DROP INDEX IF EXISTS idx_company_cnpj;
+DROP INDEX IF EXISTS idx_supplier_cnpjcpf;
+
+CREATE INDEX idx_company_cnpj_prefix ON company (cnpj text_pattern_ops);
+CREATE INDEX idx_supplier_cpfcnpj_prefix ON supplier (cpf_cnpj text_pattern_ops);
@@ -0,0 +1,192 @@
+-- Each UF's counters are split across 16 shard rows and a statement only adds its delta to the shard of its
+-- transaction id, so concurrent imports rarely wait on the same row lock. Readers add the shards up.
+CREATE TABLE uf_statistics (
+    uf VARCHAR(2) NOT NULL,
+    shard SMALLINT NOT NULL,
+    companies BIGINT NOT NULL DEFAULT 0,
+    pf_suppliers BIGINT NOT NULL DEFAULT 0,
+    pj_suppliers BIGINT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (uf, shard)
+);
+
+CREATE TABLE company_supplier_count (
+    company_id BIGINT PRIMARY KEY,
+    supplier_count BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT fk_company_supplier_count_company
+        FOREIGN KEY (company_id)
+        REFERENCES company(id)
+        ON DELETE CASCADE
+);
+
+CREATE INDEX idx_company_supplier_count_ranking ON company_supplier_count (supplier_count DESC, company_id);
+
+INSERT INTO uf_statistics (uf, shard, companies)
+SELECT COALESCE(uf, ''), 0, COUNT(*) FROM company GROUP BY 1;
+
+INSERT INTO uf_statistics AS s (uf, shard, pf_suppliers, pj_suppliers)
+SELECT COALESCE(uf, ''), 0, COUNT(*) FILTER (WHERE pf_pj = 'PF'), COUNT(*) FILTER (WHERE pf_pj = 'PJ')
+FROM supplier GROUP BY 1
+ON CONFLICT (uf, shard) DO UPDATE
+SET pf_suppliers = EXCLUDED.pf_suppliers, pj_suppliers = EXCLUDED.pj_suppliers;
+
+INSERT INTO company_supplier_count (company_id, supplier_count)
+SELECT c.id, COUNT(cs.supplier_id)
+FROM company c LEFT JOIN company_supplier cs ON cs.company_id = c.id
+GROUP BY c.id;
+
+-- The summary tables are kept up to date by statement-level triggers, so a batched import applies one
+-- grouped delta per statement instead of one update per row. Deltas are always upserted, since the
+-- transaction's shard may not have a row for the UF yet.
+
+CREATE FUNCTION company_uf_statistics()
+RETURNS TRIGGER AS $$
+DECLARE
+    current_shard SMALLINT := (txid_current() % 16)::SMALLINT;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO uf_statistics AS s (uf, shard, companies)
+        SELECT COALESCE(uf, ''), current_shard, COUNT(*) FROM new_rows GROUP BY 1
+        ON CONFLICT (uf, shard) DO UPDATE SET companies = s.companies + EXCLUDED.companies;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO uf_statistics AS s (uf, shard, companies)
+        SELECT COALESCE(uf, ''), current_shard, -COUNT(*) FROM old_rows GROUP BY 1
+        ON CONFLICT (uf, shard) DO UPDATE SET companies = s.companies + EXCLUDED.companies;
+    ELSE
+        INSERT INTO uf_statistics AS s (uf, shard, companies)
+        SELECT uf, current_shard, SUM(delta)
+        FROM (SELECT COALESCE(uf, '') AS uf, 1 AS delta FROM new_rows
+              UNION ALL
+              SELECT COALESCE(uf, ''), -1 FROM old_rows) d
+        GROUP BY uf
+        HAVING SUM(delta) <> 0
+        ON CONFLICT (uf, shard) DO UPDATE SET companies = s.companies + EXCLUDED.companies;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER company_uf_statistics_insert
+AFTER INSERT ON company
+REFERENCING NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION company_uf_statistics();
+
+CREATE TRIGGER company_uf_statistics_update
+AFTER UPDATE ON company
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION company_uf_statistics();
+
+CREATE TRIGGER company_uf_statistics_delete
+AFTER DELETE ON company
+REFERENCING OLD TABLE AS old_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION company_uf_statistics();
+
+CREATE FUNCTION supplier_uf_statistics()
+RETURNS TRIGGER AS $$
+DECLARE
+    current_shard SMALLINT := (txid_current() % 16)::SMALLINT;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO uf_statistics AS s (uf, shard, pf_suppliers, pj_suppliers)
+        SELECT COALESCE(uf, ''), current_shard,
+               COUNT(*) FILTER (WHERE pf_pj = 'PF'), COUNT(*) FILTER (WHERE pf_pj = 'PJ')
+        FROM new_rows GROUP BY 1
+        ON CONFLICT (uf, shard) DO UPDATE
+        SET pf_suppliers = s.pf_suppliers + EXCLUDED.pf_suppliers,
+            pj_suppliers = s.pj_suppliers + EXCLUDED.pj_suppliers;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO uf_statistics AS s (uf, shard, pf_suppliers, pj_suppliers)
+        SELECT COALESCE(uf, ''), current_shard,
+               -COUNT(*) FILTER (WHERE pf_pj = 'PF'), -COUNT(*) FILTER (WHERE pf_pj = 'PJ')
+        FROM old_rows GROUP BY 1
+        ON CONFLICT (uf, shard) DO UPDATE
+        SET pf_suppliers = s.pf_suppliers + EXCLUDED.pf_suppliers,
+            pj_suppliers = s.pj_suppliers + EXCLUDED.pj_suppliers;
+    ELSE
+        INSERT INTO uf_statistics AS s (uf, shard, pf_suppliers, pj_suppliers)
+        SELECT uf, current_shard, SUM(pf_delta), SUM(pj_delta)
+        FROM (SELECT COALESCE(uf, '') AS uf,
+                     CASE WHEN pf_pj = 'PF' THEN 1 ELSE 0 END AS pf_delta,
+                     CASE WHEN pf_pj = 'PJ' THEN 1 ELSE 0 END AS pj_delta
+              FROM new_rows
+              UNION ALL
+              SELECT COALESCE(uf, ''),
+                     CASE WHEN pf_pj = 'PF' THEN -1 ELSE 0 END,
+                     CASE WHEN pf_pj = 'PJ' THEN -1 ELSE 0 END
+              FROM old_rows) d
+        GROUP BY uf
+        HAVING SUM(pf_delta) <> 0 OR SUM(pj_delta) <> 0
+        ON CONFLICT (uf, shard) DO UPDATE
+        SET pf_suppliers = s.pf_suppliers + EXCLUDED.pf_suppliers,
+            pj_suppliers = s.pj_suppliers + EXCLUDED.pj_suppliers;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER supplier_uf_statistics_insert
+AFTER INSERT ON supplier
+REFERENCING NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION supplier_uf_statistics();
+
+CREATE TRIGGER supplier_uf_statistics_update
+AFTER UPDATE ON supplier
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION supplier_uf_statistics();
+
+CREATE TRIGGER supplier_uf_statistics_delete
+AFTER DELETE ON supplier
+REFERENCING OLD TABLE AS old_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION supplier_uf_statistics();
+
+CREATE FUNCTION company_supplier_count_insert_company()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO company_supplier_count (company_id) SELECT id FROM new_rows;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER company_supplier_count_insert_company
+AFTER INSERT ON company
+REFERENCING NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION company_supplier_count_insert_company();
+
+CREATE FUNCTION company_supplier_count()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE company_supplier_count s SET supplier_count = s.supplier_count + d.suppliers
+        FROM (SELECT company_id, COUNT(*) AS suppliers FROM new_rows GROUP BY company_id) d
+        WHERE s.company_id = d.company_id;
+    ELSE
+        UPDATE company_supplier_count s SET supplier_count = s.supplier_count - d.suppliers
+        FROM (SELECT company_id, COUNT(*) AS suppliers FROM old_rows GROUP BY company_id) d
+        WHERE s.company_id = d.company_id;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER company_supplier_count_insert
+AFTER INSERT ON company_supplier
+REFERENCING NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION company_supplier_count();
+
+CREATE TRIGGER company_supplier_count_delete
+AFTER DELETE ON company_supplier
+REFERENCING OLD TABLE AS old_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION company_supplier_count();
@@ -0,0 +1,2 @@
+-- Serves the Paraná rule lookup of underage PF suppliers (pf_pj = 'PF' AND birthdate > cutoff).
+CREATE INDEX idx_supplier_pf_pj_birthdate ON supplier (pf_pj, birthdate);
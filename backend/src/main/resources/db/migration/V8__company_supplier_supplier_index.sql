@@ -0,0 +1,3 @@
+-- The primary key (company_id, supplier_id) only serves lookups by company. This index serves Supplier.companies,
+-- the supplier-side link queries and the ON DELETE CASCADE from supplier, which otherwise scan the whole table.
+CREATE INDEX idx_company_supplier_supplier ON company_supplier (supplier_id, company_id);
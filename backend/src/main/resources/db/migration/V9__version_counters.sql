@@ -0,0 +1,62 @@
+-- ETags are read from version counters: a per-row version for the entity itself and a per-table version for
+-- listings and association pages, so link changes never have to touch (and lock) the company and supplier rows.
+
+-- Row versions: bumped by every update of the row, under the row lock the update already holds.
+ALTER TABLE company ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE supplier ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE FUNCTION bump_row_version()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.version = OLD.version + 1;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER company_bump_row_version
+BEFORE UPDATE ON company
+FOR EACH ROW
+EXECUTE FUNCTION bump_row_version();
+
+CREATE TRIGGER supplier_bump_row_version
+BEFORE UPDATE ON supplier
+FOR EACH ROW
+EXECUTE FUNCTION bump_row_version();
+
+-- Table versions: one counter per table, bumped once per write statement and committed with it, so a reader
+-- never sees a new version before the data it stands for. Each counter is split across 16 shard rows and a
+-- transaction only bumps the shard of its transaction id, so concurrent writers rarely wait on the same row
+-- lock and never lock two shards. Readers add the 16 rows up.
+CREATE TABLE table_version (
+    shard SMALLINT PRIMARY KEY,
+    company BIGINT NOT NULL DEFAULT 0,
+    supplier BIGINT NOT NULL DEFAULT 0,
+    company_supplier BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO table_version (shard) SELECT generate_series(0, 15);
+
+CREATE FUNCTION bump_table_version()
+RETURNS TRIGGER AS $$
+BEGIN
+    EXECUTE format('UPDATE table_version SET %1$I = %1$I + 1 WHERE shard = $1', TG_TABLE_NAME)
+    USING (txid_current() % 16)::SMALLINT;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER company_bump_table_version
+AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON company
+FOR EACH STATEMENT
+EXECUTE FUNCTION bump_table_version();
+
+CREATE TRIGGER supplier_bump_table_version
+AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON supplier
+FOR EACH STATEMENT
+EXECUTE FUNCTION bump_table_version();
+
+CREATE TRIGGER company_supplier_bump_table_version
+AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON company_supplier
+FOR EACH STATEMENT
+EXECUTE FUNCTION bump_table_version();
@@ -0,0 +1,32 @@
+package com.accenture.fsproject;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Ephemeral PostgreSQL for tests that depend on what H2 cannot reproduce: the Flyway migrations, their triggers and
+ * the query planner. Each test class starts its own instance, migrated by Flyway when the context starts.
+ */
+public final class EmbeddedPostgresDatabase {
+
+    private EmbeddedPostgresDatabase() {}
+
+    public static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void register(EmbeddedPostgres postgres, DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("logging.level.org.hibernate.SQL", () -> "INFO");
+        registry.add("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", () -> "INFO");
+    }
+}
@@ -0,0 +1,49 @@
+package com.accenture.fsproject;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.util.Objects;
+
+/**
+ * Seeds and clears the rows tests link together: PJ suppliers and companies from MG, and the links between them.
+ * Written through JDBC so both the H2 test schema and the migrated PostgreSQL schema accept them.
+ */
+public final class TestData {
+
+    private TestData() {}
+
+    public static long insertCompany(JdbcTemplate jdbcTemplate, String name, String cnpj) {
+        return insert(jdbcTemplate, "INSERT INTO company (name, cnpj, cep, uf) VALUES (?, ?, '35604000', 'MG')", name, cnpj);
+    }
+
+    public static long insertSupplier(JdbcTemplate jdbcTemplate, String name, String cpfCnpj) {
+        return insert(jdbcTemplate, "INSERT INTO supplier (name, pf_pj, cpf_cnpj, cep, uf) VALUES (?, 'PJ', ?, '35604000', 'MG')",
+                name, cpfCnpj);
+    }
+
+    public static void link(JdbcTemplate jdbcTemplate, long companyId, long supplierId) {
+        jdbcTemplate.update("INSERT INTO company_supplier (company_id, supplier_id) VALUES (?, ?)", companyId, supplierId);
+    }
+
+    public static void deleteAll(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("DELETE FROM company_supplier");
+        jdbcTemplate.update("DELETE FROM supplier");
+        jdbcTemplate.update("DELETE FROM company");
+    }
+
+    private static long insert(JdbcTemplate jdbcTemplate, String sql, String name, String document) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, new String[] {"id"});
+            statement.setString(1, name);
+            statement.setString(2, document);
+            return statement;
+        }, keyHolder);
+
+        return Objects.requireNonNull(keyHolder.getKey()).longValue();
+    }
+}
@@ -0,0 +1,168 @@
+package com.accenture.fsproject.controller;
+
+import com.accenture.fsproject.EmbeddedPostgresDatabase;
+import com.accenture.fsproject.TestData;
+import com.accenture.fsproject.dto.company.CompanyUpdateDTO;
+import com.accenture.fsproject.dto.supplier.SupplierUpdateDTO;
+import com.accenture.fsproject.service.CompanyService;
+import com.accenture.fsproject.service.SupplierService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// ETags are read from version counters kept by PostgreSQL triggers, so this runs on the migrated schema.
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ConditionalGetTest {
+
+    private static final EmbeddedPostgres POSTGRES = EmbeddedPostgresDatabase.start();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long companyId;
+    private long supplierId;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresDatabase.register(POSTGRES, registry);
+    }
+
+    @BeforeEach
+    void seed() {
+        companyId = TestData.insertCompany(jdbcTemplate, "Company A", "53162442000109");
+        supplierId = TestData.insertSupplier(jdbcTemplate, "Supplier A", "11444777000161");
+        TestData.link(jdbcTemplate, companyId, supplierId);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TestData.deleteAll(jdbcTemplate);
+    }
+
+    @Test
+    void shouldAnswerUnchangedDetailsWithNotModified() throws Exception {
+        MockHttpServletResponse first = fetch("/companies/" + companyId, null);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        assertEquals(200, first.getStatus());
+        assertNotNull(etag);
+
+        MockHttpServletResponse second = fetch("/companies/" + companyId, etag);
+
+        assertEquals(304, second.getStatus());
+        assertEquals(0, second.getContentLength());
+    }
+
+    @Test
+    void shouldChangeDetailsETagWhenCompanyOrLinkedSupplierChanges() throws Exception {
+        String etag = fetch("/companies/" + companyId, null).getHeader(HttpHeaders.ETAG);
+
+        companyService.update(companyId, new CompanyUpdateDTO("Company B", null, null, null));
+
+        MockHttpServletResponse afterCompanyUpdate = fetch("/companies/" + companyId, etag);
+        assertEquals(200, afterCompanyUpdate.getStatus());
+        assertTrue(afterCompanyUpdate.getContentAsString().contains("Company B"));
+
+        etag = afterCompanyUpdate.getHeader(HttpHeaders.ETAG);
+
+        supplierService.update(supplierId, new SupplierUpdateDTO("Supplier B", null, null, null, null, null, null));
+
+        MockHttpServletResponse afterSupplierUpdate = fetch("/companies/" + companyId, etag);
+        assertEquals(200, afterSupplierUpdate.getStatus());
+        assertNotEquals(etag, afterSupplierUpdate.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void shouldChangeETagsWhenLinksChange() throws Exception {
+        String details = fetch("/suppliers/" + supplierId, null).getHeader(HttpHeaders.ETAG);
+        String listing = fetch("/suppliers", null).getHeader(HttpHeaders.ETAG);
+
+        jdbcTemplate.update("DELETE FROM company_supplier WHERE company_id = ?", companyId);
+
+        assertEquals(200, fetch("/suppliers/" + supplierId, details).getStatus());
+        assertEquals(200, fetch("/suppliers", listing).getStatus());
+    }
+
+    @Test
+    void shouldKeepLightETagWhenOnlyLinksChange() throws Exception {
+        String light = fetch("/companies/" + companyId + "?view=LIGHT", null).getHeader(HttpHeaders.ETAG);
+        String suppliers = fetch("/companies/" + companyId + "/suppliers", null).getHeader(HttpHeaders.ETAG);
+
+        assertEquals(304, fetch("/companies/" + companyId + "/suppliers", suppliers).getStatus());
+
+        jdbcTemplate.update("DELETE FROM company_supplier WHERE company_id = ?", companyId);
+
+        assertEquals(304, fetch("/companies/" + companyId + "?view=LIGHT", light).getStatus());
+        assertEquals(200, fetch("/companies/" + companyId + "/suppliers", suppliers).getStatus());
+
+        companyService.update(companyId, new CompanyUpdateDTO("Company B", null, null, null));
+
+        assertEquals(200, fetch("/companies/" + companyId + "?view=LIGHT", light).getStatus());
+    }
+
+    @Test
+    void shouldKeepDetailsETagWhenUnrelatedRowsChange() throws Exception {
+        String company = fetch("/companies/" + companyId, null).getHeader(HttpHeaders.ETAG);
+        String supplier = fetch("/suppliers/" + supplierId, null).getHeader(HttpHeaders.ETAG);
+
+        long otherCompanyId = TestData.insertCompany(jdbcTemplate, "Company C", "11222333000181");
+        long otherSupplierId = TestData.insertSupplier(jdbcTemplate, "Supplier C", "04252011000110");
+        TestData.link(jdbcTemplate, otherCompanyId, otherSupplierId);
+        supplierService.update(otherSupplierId, new SupplierUpdateDTO("Supplier D", null, null, null, null, null, null));
+        companyService.update(otherCompanyId, new CompanyUpdateDTO("Company D", null, null, null));
+
+        assertEquals(304, fetch("/companies/" + companyId, company).getStatus());
+        assertEquals(304, fetch("/suppliers/" + supplierId, supplier).getStatus());
+    }
+
+    @Test
+    void shouldChangeListingETagWhenRowsAreAddedOrRemoved() throws Exception {
+        for (String path : List.of("/companies", "/companies/search?query=company", "/suppliers/cursor")) {
+            String etag = fetch(path, null).getHeader(HttpHeaders.ETAG);
+            assertEquals(304, fetch(path, etag).getStatus());
+        }
+
+        String etag = fetch("/companies", null).getHeader(HttpHeaders.ETAG);
+
+        jdbcTemplate.update("INSERT INTO company (name, cnpj, cep, uf) VALUES ('Company C', '11222333000181', '35604000', 'MG')");
+
+        assertEquals(200, fetch("/companies", etag).getStatus());
+    }
+
+    @Test
+    void shouldNotFoundMissingDetailsEvenWithETag() throws Exception {
+        assertEquals(404, fetch("/suppliers/" + (supplierId + 1), "W/\"0-0-0\"").getStatus());
+    }
+
+    private MockHttpServletResponse fetch(String path, String ifNoneMatch) throws Exception {
+        var request = get(path);
+        if (ifNoneMatch != null) request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+}
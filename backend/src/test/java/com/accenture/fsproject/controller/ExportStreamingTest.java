@@ -0,0 +1,64 @@
+package com.accenture.fsproject.controller;
+
+import com.accenture.fsproject.config.ExportProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ExportStreamingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ExportProperties exportProperties;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO company (name, cnpj, cep, uf) VALUES ('Company A', '90730183000193', '49042210', 'SE')");
+        jdbcTemplate.update("INSERT INTO supplier (name, pf_pj, cpf_cnpj, cep, uf) VALUES ('Supplier A', 'PJ', '13284781000135', '22783230', 'RJ')");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM supplier");
+        jdbcTemplate.update("DELETE FROM company");
+    }
+
+    @Test
+    void shouldStreamExportsWithTheirOwnTimeout() throws Exception {
+        for (String path : List.of("/companies/export", "/suppliers/export")) {
+            MvcResult started = mockMvc.perform(get(path)).andReturn();
+
+            assertTrue(started.getRequest().isAsyncStarted());
+            assertEquals(exportProperties.timeout().toMillis(), started.getRequest().getAsyncContext().getTimeout());
+
+            MockHttpServletResponse response = mockMvc.perform(asyncDispatch(started)).andReturn().getResponse();
+
+            assertEquals(200, response.getStatus());
+            assertEquals(MediaType.APPLICATION_NDJSON_VALUE, response.getContentType());
+            assertEquals(1, response.getContentAsString().lines().count());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.accenture.fsproject.controller;
+
+import com.accenture.fsproject.config.ColumnarPageHttpMessageConverter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ListingRepresentationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO supplier (name, pf_pj, cpf_cnpj, rg, birthdate, cep, uf) " +
+                "VALUES ('Supplier A', 'PF', '52998224725', '1234567', DATE '1990-05-17', '35604000', 'MG')");
+        jdbcTemplate.update("INSERT INTO supplier (name, pf_pj, cpf_cnpj, cep, uf) VALUES ('Supplier B', 'PJ', '13284781000135', '35604000', 'MG')");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM supplier");
+    }
+
+    @Test
+    void shouldWriteSlimPageEnvelopeByDefault() throws Exception {
+        for (String accept : List.of(MediaType.ALL_VALUE, MediaType.APPLICATION_JSON_VALUE)) {
+            MockHttpServletResponse response = fetch("/suppliers/search?query=supplier&sort=id", accept);
+            JsonNode page = objectMapper.readTree(response.getContentAsString());
+
+            assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(response.getContentType())));
+            assertEquals(List.of("content", "number", "size", "totalElements", "totalPages"), fieldNames(page));
+            assertEquals("Supplier A", page.get("content").get(0).get("name").asText());
+            assertEquals(2, page.get("totalElements").asLong());
+        }
+    }
+
+    @Test
+    void shouldWriteColumnarPageWhenAccepted() throws Exception {
+        MockHttpServletResponse response = fetch("/suppliers?sort=id", ColumnarPageHttpMessageConverter.MEDIA_TYPE_VALUE);
+        JsonNode page = objectMapper.readTree(response.getContentAsString());
+
+        assertEquals(ColumnarPageHttpMessageConverter.MEDIA_TYPE_VALUE, MediaType.parseMediaType(response.getContentType()).toString());
+        assertTrue(response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+
+        List<String> columns = objectMapper.convertValue(page.get("columns"), objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, String.class));
+        JsonNode first = page.get("rows").get(0);
+
+        assertEquals(List.of("id", "name", "type", "cpfCnpj", "rg", "birthdate", "email", "cep", "uf", "companiesIds"), columns);
+        assertTrue(first.isArray());
+        assertEquals("Supplier A", first.get(columns.indexOf("name")).asText());
+        JsonNode json = objectMapper.readTree(fetch("/suppliers?sort=id", MediaType.APPLICATION_JSON_VALUE).getContentAsString());
+        assertEquals(json.get("content").get(0).get("birthdate"), first.get(columns.indexOf("birthdate")));
+        assertEquals(2, page.get("rows").size());
+        assertEquals(2, page.get("totalElements").asLong());
+    }
+
+    private MockHttpServletResponse fetch(String path, String accept) throws Exception {
+        return mockMvc.perform(get(path).header(HttpHeaders.ACCEPT, accept)).andReturn().getResponse();
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        return node.properties().stream().map(Map.Entry::getKey).toList();
+    }
+}
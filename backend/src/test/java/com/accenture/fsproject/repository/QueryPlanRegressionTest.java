@@ -0,0 +1,415 @@
+package com.accenture.fsproject.repository;
+
+import com.accenture.fsproject.EmbeddedPostgresDatabase;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every query declared by {@link CompanyRepository}, {@link SupplierRepository} and
+ * {@link TableVersionRepository} against an embedded PostgreSQL migrated by Flyway and seeded with enough rows for
+ * the planner to prefer indexes, then explains each statement Hibernate issued with the same bind values. A plan
+ * that scans a data table sequentially fails the build, unless the query reads the whole table by design; the
+ * 16 rows of {@code table_version} are always scanned.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class QueryPlanRegressionTest {
+
+    private static final int ROWS = 20_000;
+    private static final int LINKS_PER_COMPANY = 5;
+
+    private static final Set<String> TABLES = Set.of("company", "supplier", "company_supplier");
+
+    // Unsorted listing pages and their counts read every row whatever the indexes.
+    private static final Set<String> FULL_SCANS = Set.of("CompanyRepository.findAllRows", "SupplierRepository.findAllRows");
+
+    private static final EmbeddedPostgres POSTGRES = EmbeddedPostgresDatabase.start();
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private TableVersionRepository tableVersionRepository;
+
+    @Autowired
+    private CompanyJdbcRepository companyJdbcRepository;
+
+    @Autowired
+    private SupplierJdbcRepository supplierJdbcRepository;
+
+    @Autowired
+    private CapturingDataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresDatabase.register(POSTGRES, registry);
+    }
+
+    // The database is private to this class, so it is seeded once and never cleaned up.
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO company (name, cnpj, cep, uf) " +
+                "SELECT 'Company ' || g, LPAD(g::text, 14, '0'), '35604000', (ARRAY['MG', 'SP', 'PR', 'RJ', 'SE'])[g % 5 + 1] " +
+                "FROM generate_series(1, ?) g", ROWS);
+
+        jdbcTemplate.update("INSERT INTO supplier (name, pf_pj, cpf_cnpj, birthdate, cep, uf) " +
+                "SELECT 'Supplier ' || g, CASE WHEN g % 2 = 0 THEN 'PF' ELSE 'PJ' END, LPAD(g::text, 14, '0'), " +
+                "CASE WHEN g % 2 = 0 THEN DATE '1960-01-01' + g END, '35604000', (ARRAY['MG', 'SP', 'PR', 'RJ', 'SE'])[g % 5 + 1] " +
+                "FROM generate_series(1, ?) g", ROWS);
+
+        jdbcTemplate.update("INSERT INTO company_supplier (company_id, supplier_id) " +
+                "SELECT c.id, s.id " +
+                "FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS n FROM company) c " +
+                "CROSS JOIN generate_series(0, ?) k " +
+                "JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS n FROM supplier) s " +
+                "ON s.n = 1 + (c.n * 7 + k * 3001) % ?", LINKS_PER_COMPANY - 1, ROWS);
+
+        // VACUUM also flushes the GIN pending lists, as autovacuum does for a live table.
+        jdbcTemplate.execute("VACUUM ANALYZE company, supplier, company_supplier");
+    }
+
+    @Test
+    void shouldCoverEveryDeclaredQuery() {
+        Set<String> declared = Stream.of(CompanyRepository.class, SupplierRepository.class, TableVersionRepository.class)
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods()).map(method -> name(type, method)))
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        assertEquals(declared, new TreeSet<>(queries().keySet()));
+        assertTrue(declared.containsAll(FULL_SCANS), "Full scans allowed for queries that no longer exist");
+    }
+
+    @Test
+    void shouldNotScanTablesSequentially() {
+        List<String> regressions = new ArrayList<>();
+
+        queries().forEach((name, query) -> {
+            List<CapturedStatement> statements = dataSource.capture(query);
+
+            assertFalse(statements.isEmpty(), name + " issued no statement");
+
+            if (FULL_SCANS.contains(name)) return;
+
+            for (CapturedStatement statement : statements) {
+                Set<String> scanned = sequentialScans(statement);
+
+                if (!scanned.isEmpty()) {
+                    regressions.add(name + " scans " + scanned + ": " + statement.sql());
+                }
+            }
+        });
+
+        assertTrue(regressions.isEmpty(), () -> "Sequential scans on seeded data:\n" + String.join("\n", regressions));
+    }
+
+    @Test
+    void shouldCascadeDeletesThroughIndexes() {
+        long companyId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM company", Long.class);
+        long supplierId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM supplier", Long.class);
+
+        // The statements the fk_company and fk_supplier triggers run for every deleted row.
+        assertEquals(Set.of(), sequentialScans(new CapturedStatement(
+                "DELETE FROM ONLY company_supplier WHERE company_id = ?", List.of(longBinding(1, companyId)))));
+        assertEquals(Set.of(), sequentialScans(new CapturedStatement(
+                "DELETE FROM ONLY company_supplier WHERE supplier_id = ?", List.of(longBinding(1, supplierId)))));
+    }
+
+    @Test
+    void shouldProbeImportedDocumentsThroughTheUniqueIndexes() {
+        // A chunk's worth of documents, half of them taken. Equalities must not go through the trigram indexes, whose
+        // pending lists make every probe slow while an import is filling them.
+        List<String> documents = IntStream.range(ROWS - 499, ROWS + 501).mapToObj(QueryPlanRegressionTest::document).toList();
+
+        List<CapturedStatement> companyLookup = dataSource.capture(() -> companyJdbcRepository.findExistingCnpjs(documents));
+        List<CapturedStatement> supplierLookup = dataSource.capture(() -> supplierJdbcRepository.findExistingCpfCnpjs(documents));
+
+        for (CapturedStatement lookup : List.of(companyLookup.get(0), supplierLookup.get(0))) {
+            Set<String> indexes = scannedIndexes(lookup);
+
+            assertEquals(Set.of(), sequentialScans(lookup), lookup.sql());
+            assertFalse(indexes.isEmpty(), lookup.sql());
+            assertTrue(indexes.stream().noneMatch(index -> index.endsWith("_trgm")), () -> indexes + ": " + lookup.sql());
+        }
+    }
+
+    private Map<String, Runnable> queries() {
+        long companyId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM company", Long.class) + ROWS / 2;
+        long supplierId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM supplier", Long.class) + ROWS / 2;
+
+        List<Long> companiesIds = LongStream.range(companyId, companyId + 50).boxed().toList();
+        List<Long> suppliersIds = LongStream.range(supplierId, supplierId + 50).boxed().toList();
+
+        Pageable pageable = PageRequest.of(0, 5);
+        Limit limit = Limit.of(20);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+
+        queries.put("CompanyRepository.existsByCnpj", () -> companyRepository.existsByCnpj(document(1_234)));
+        queries.put("CompanyRepository.existsByCnpjStartingWith", () -> companyRepository.existsByCnpjStartingWith("000000000123"));
+        queries.put("CompanyRepository.findAllRows", () -> companyRepository.findAllRows(pageable));
+        queries.put("CompanyRepository.findRowById", () -> companyRepository.findRowById(companyId));
+        queries.put("CompanyRepository.findByNameLike", () -> companyRepository.findByNameLike("%company 1234%", pageable));
+        queries.put("CompanyRepository.findByCnpjLike", () -> companyRepository.findByCnpjLike("%01234%", pageable));
+        queries.put("CompanyRepository.findByNameOrCnpjLike", () -> companyRepository.findByNameOrCnpjLike("%1234%", pageable));
+        queries.put("CompanyRepository.findRowsAfter", () -> companyRepository.findRowsAfter(companyId, limit));
+        queries.put("CompanyRepository.findByNameLikeAfter", () -> companyRepository.findByNameLikeAfter("%company 1234%", companyId, limit));
+        queries.put("CompanyRepository.findByCnpjLikeAfter", () -> companyRepository.findByCnpjLikeAfter("%01234%", companyId, limit));
+        queries.put("CompanyRepository.findByNameOrCnpjLikeAfter", () -> companyRepository.findByNameOrCnpjLikeAfter("%1234%", companyId, limit));
+        queries.put("CompanyRepository.findSupplierSummaries", () -> companyRepository.findSupplierSummaries(companyId));
+        queries.put("CompanyRepository.findVersionById", () -> companyRepository.findVersionById(companyId));
+        queries.put("CompanyRepository.findSupplierVersions", () -> companyRepository.findSupplierVersions(companyId));
+        queries.put("CompanyRepository.findIdsByUf", () -> companyRepository.findIdsByUf(companiesIds, FederativeUnit.PR, limit));
+        queries.put("CompanyRepository.findExistingIds", () -> companyRepository.findExistingIds(companiesIds));
+        queries.put("CompanyRepository.findSupplierLinks", () -> companyRepository.findSupplierLinks(companiesIds));
+
+        queries.put("SupplierRepository.existsByCpfCnpj", () -> supplierRepository.existsByCpfCnpj(document(1_234)));
+        queries.put("SupplierRepository.existsByCpfCnpjStartingWith", () -> supplierRepository.existsByCpfCnpjStartingWith("000000000123"));
+        queries.put("SupplierRepository.findAllRows", () -> supplierRepository.findAllRows(pageable));
+        queries.put("SupplierRepository.findRowById", () -> supplierRepository.findRowById(supplierId));
+        queries.put("SupplierRepository.findByNameLike", () -> supplierRepository.findByNameLike("%supplier 1234%", pageable));
+        queries.put("SupplierRepository.findByCpfCnpjLike", () -> supplierRepository.findByCpfCnpjLike("%01234%", pageable));
+        queries.put("SupplierRepository.findByNameOrCpfCnpjLike", () -> supplierRepository.findByNameOrCpfCnpjLike("%1234%", pageable));
+        queries.put("SupplierRepository.findRowsAfter", () -> supplierRepository.findRowsAfter(supplierId, limit));
+        queries.put("SupplierRepository.findByNameLikeAfter", () -> supplierRepository.findByNameLikeAfter("%supplier 1234%", supplierId, limit));
+        queries.put("SupplierRepository.findByCpfCnpjLikeAfter", () -> supplierRepository.findByCpfCnpjLikeAfter("%01234%", supplierId, limit));
+        queries.put("SupplierRepository.findByNameOrCpfCnpjLikeAfter", () -> supplierRepository.findByNameOrCpfCnpjLikeAfter("%1234%", supplierId, limit));
+        queries.put("SupplierRepository.findCompanySummaries", () -> supplierRepository.findCompanySummaries(supplierId));
+        queries.put("SupplierRepository.findVersionById", () -> supplierRepository.findVersionById(supplierId));
+        queries.put("SupplierRepository.findCompanyVersions", () -> supplierRepository.findCompanyVersions(supplierId));
+        queries.put("SupplierRepository.findIdsOfPfBornAfter", () -> supplierRepository.findIdsOfPfBornAfter(suppliersIds, LocalDate.now().minusYears(18), limit));
+        queries.put("SupplierRepository.findExistingRgs", () -> supplierRepository.findExistingRgs(List.of("264504586", "264504587")));
+        queries.put("SupplierRepository.findCompanyLinks", () -> supplierRepository.findCompanyLinks(suppliersIds));
+
+        queries.put("TableVersionRepository.findTableVersions", () -> tableVersionRepository.findTableVersions());
+
+        return queries;
+    }
+
+    private Set<String> sequentialScans(CapturedStatement statement) {
+        Set<String> scanned = new TreeSet<>();
+
+        for (JsonNode root : explain(statement)) {
+            collectSequentialScans(root.get("Plan"), scanned);
+        }
+
+        return scanned;
+    }
+
+    private Set<String> scannedIndexes(CapturedStatement statement) {
+        Set<String> indexes = new TreeSet<>();
+
+        for (JsonNode root : explain(statement)) {
+            collectIndexes(root.get("Plan"), indexes);
+        }
+
+        return indexes;
+    }
+
+    private JsonNode explain(CapturedStatement statement) {
+        String plan = jdbcTemplate.query(connection -> {
+            PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql());
+
+            for (Binding binding : statement.bindings()) {
+                binding.applyTo(explain);
+            }
+
+            return explain;
+        }, (ResultSetExtractor<String>) resultSet -> resultSet.next() ? resultSet.getString(1) : null);
+
+        try {
+            return objectMapper.readTree(plan);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void collectSequentialScans(JsonNode node, Set<String> scanned) {
+        String relation = node.path("Relation Name").asText();
+
+        if ("Seq Scan".equals(node.path("Node Type").asText()) && TABLES.contains(relation)) {
+            scanned.add(relation);
+        }
+
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, scanned);
+        }
+    }
+
+    private static void collectIndexes(JsonNode node, Set<String> indexes) {
+        if (node.has("Index Name")) {
+            indexes.add(node.get("Index Name").asText());
+        }
+
+        for (JsonNode child : node.path("Plans")) {
+            collectIndexes(child, indexes);
+        }
+    }
+
+    private static String name(Class<?> type, Method method) {
+        return type.getSimpleName() + "." + method.getName();
+    }
+
+    private static String document(int number) {
+        return String.format("%014d", number);
+    }
+
+    private static Binding longBinding(int index, long value) {
+        try {
+            return new Binding(PreparedStatement.class.getMethod("setLong", int.class, long.class), new Object[]{index, value});
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    record CapturedStatement(String sql, List<Binding> bindings) {
+    }
+
+    record Binding(Method setter, Object[] args) {
+
+        void applyTo(PreparedStatement statement) throws SQLException {
+            try {
+                invoke(statement, setter, args);
+            } catch (SQLException | RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new SQLException(e);
+            }
+        }
+    }
+
+    /**
+     * Records the SQL and bind values of every prepared statement executed inside {@link #capture(Runnable)}.
+     */
+    static class CapturingDataSource extends DelegatingDataSource {
+
+        private final List<CapturedStatement> captured = new ArrayList<>();
+        private volatile boolean capturing;
+
+        CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        synchronized List<CapturedStatement> capture(Runnable query) {
+            captured.clear();
+            capturing = true;
+
+            try {
+                query.run();
+            } finally {
+                capturing = false;
+            }
+
+            return List.copyOf(captured);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+
+                        if (capturing && result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                            return recording((String) args[0], statement);
+                        }
+
+                        return result;
+                    });
+        }
+
+        private PreparedStatement recording(String sql, PreparedStatement statement) {
+            List<Binding> bindings = new ArrayList<>();
+
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (isBinding(method)) {
+                            bindings.add(new Binding(method, args));
+                        } else if (method.getName().startsWith("execute")) {
+                            captured.add(new CapturedStatement(sql, List.copyOf(bindings)));
+                        }
+
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static boolean isBinding(Method method) {
+            return method.getName().startsWith("set") && method.getParameterCount() >= 2
+                    && method.getParameterTypes()[0] == int.class;
+        }
+    }
+
+    @TestConfiguration
+    static class CapturingDataSourceConfiguration {
+
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof CapturingDataSource)
+                            ? new CapturingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.accenture.fsproject.repository;
+
+import com.accenture.fsproject.EmbeddedPostgresDatabase;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the trigger-maintained summary tables of {@code V6__statistics_summary_tables.sql} through every kind of
+ * write on an embedded PostgreSQL and checks after each one that they hold exactly what a {@code GROUP BY} over the
+ * base tables computes. Each statement runs in its own transaction, so the deltas land on several shards.
+ */
+@SpringBootTest
+public class StatisticsSummaryTablesTest {
+
+    private static final String UF_STATISTICS =
+            "SELECT uf, SUM(companies)::BIGINT AS companies, SUM(pf_suppliers)::BIGINT AS pf_suppliers, " +
+            "SUM(pj_suppliers)::BIGINT AS pj_suppliers " +
+            "FROM uf_statistics " +
+            "GROUP BY uf " +
+            "HAVING SUM(companies) <> 0 OR SUM(pf_suppliers) <> 0 OR SUM(pj_suppliers) <> 0 " +
+            "ORDER BY uf";
+
+    private static final String RECOMPUTED_UF_STATISTICS =
+            "SELECT uf, SUM(companies)::BIGINT AS companies, SUM(pf_suppliers)::BIGINT AS pf_suppliers, " +
+            "SUM(pj_suppliers)::BIGINT AS pj_suppliers " +
+            "FROM (SELECT COALESCE(uf, '') AS uf, 1 AS companies, 0 AS pf_suppliers, 0 AS pj_suppliers FROM company " +
+            "      UNION ALL " +
+            "      SELECT COALESCE(uf, ''), 0, " +
+            "             CASE WHEN pf_pj = 'PF' THEN 1 ELSE 0 END, CASE WHEN pf_pj = 'PJ' THEN 1 ELSE 0 END " +
+            "      FROM supplier) t " +
+            "GROUP BY uf " +
+            "ORDER BY uf";
+
+    private static final String SUPPLIER_COUNTS =
+            "SELECT company_id, supplier_count FROM company_supplier_count ORDER BY company_id";
+
+    private static final String RECOMPUTED_SUPPLIER_COUNTS =
+            "SELECT c.id AS company_id, COUNT(cs.supplier_id) AS supplier_count " +
+            "FROM company c LEFT JOIN company_supplier cs ON cs.company_id = c.id " +
+            "GROUP BY c.id " +
+            "ORDER BY c.id";
+
+    private static final EmbeddedPostgres POSTGRES = EmbeddedPostgresDatabase.start();
+
+    // Documents of the rows inserted here, far from the seed data's.
+    private static final AtomicLong DOCUMENTS = new AtomicLong(99_000_000_000_000L);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresDatabase.register(POSTGRES, registry);
+    }
+
+    @Test
+    void shouldMatchBaseTablesAfterMigration() {
+        assertSummariesMatch();
+    }
+
+    @Test
+    void shouldTrackInsertedRows() {
+        insertCompany("MG");
+        assertSummariesMatch();
+
+        jdbcTemplate.update("INSERT INTO company (name, cnpj, cep, uf) VALUES ('Company', ?, '80010000', 'PR'), " +
+                "('Company', ?, '80010000', 'PR'), ('Company', ?, '01001000', 'SP'), ('Company', ?, '01001000', NULL)",
+                document(), document(), document(), document());
+        assertSummariesMatch();
+
+        insertSupplier("PF", "PR");
+        jdbcTemplate.update("INSERT INTO supplier (name, pf_pj, cpf_cnpj, cep, uf) VALUES ('Supplier', 'PF', ?, '80010000', 'PR'), " +
+                "('Supplier', 'PJ', ?, '80010000', 'PR'), ('Supplier', 'PJ', ?, '01001000', NULL)",
+                document(), document(), document());
+        assertSummariesMatch();
+    }
+
+    @Test
+    void shouldTrackUfAndCepChanges() {
+        long companyId = insertCompany("MG");
+        long otherCompanyId = insertCompany("SP");
+        long supplierId = insertSupplier("PF", "MG");
+        long otherSupplierId = insertSupplier("PJ", "SP");
+
+        jdbcTemplate.update("UPDATE company SET cep = '35604001' WHERE id = ?", companyId);
+        jdbcTemplate.update("UPDATE supplier SET cep = '35604001' WHERE id = ?", supplierId);
+        assertSummariesMatch();
+
+        jdbcTemplate.update("UPDATE company SET cep = '80010000', uf = 'PR' WHERE id = ?", companyId);
+        jdbcTemplate.update("UPDATE supplier SET cep = '80010000', uf = 'PR' WHERE id = ?", supplierId);
+        assertSummariesMatch();
+
+        jdbcTemplate.update("UPDATE company SET uf = CASE WHEN id = ? THEN 'SP' ELSE 'PR' END WHERE id IN (?, ?)",
+                companyId, companyId, otherCompanyId);
+        jdbcTemplate.update("UPDATE supplier SET uf = CASE WHEN id = ? THEN 'SP' ELSE 'PR' END WHERE id IN (?, ?)",
+                supplierId, supplierId, otherSupplierId);
+        assertSummariesMatch();
+
+        jdbcTemplate.update("UPDATE company SET uf = NULL WHERE id = ?", companyId);
+        jdbcTemplate.update("UPDATE supplier SET uf = NULL WHERE id = ?", supplierId);
+        assertSummariesMatch();
+    }
+
+    @Test
+    void shouldTrackPfPjChanges() {
+        long pfId = insertSupplier("PF", "RJ");
+        long pjId = insertSupplier("PJ", "RJ");
+
+        jdbcTemplate.update("UPDATE supplier SET pf_pj = 'PJ' WHERE id = ?", pfId);
+        assertSummariesMatch();
+
+        jdbcTemplate.update("UPDATE supplier SET pf_pj = CASE WHEN pf_pj = 'PF' THEN 'PJ' ELSE 'PF' END WHERE id IN (?, ?)",
+                pfId, pjId);
+        assertSummariesMatch();
+
+        jdbcTemplate.update("UPDATE supplier SET pf_pj = 'PF', uf = 'BA' WHERE id = ?", pfId);
+        assertSummariesMatch();
+    }
+
+    @Test
+    void shouldTrackDeletedRows() {
+        long companyId = insertCompany("GO");
+        long otherCompanyId = insertCompany(null);
+        long supplierId = insertSupplier("PF", "GO");
+        long otherSupplierId = insertSupplier("PJ", "GO");
+        link(companyId, supplierId);
+        link(otherCompanyId, supplierId);
+        link(otherCompanyId, otherSupplierId);
+
+        jdbcTemplate.update("DELETE FROM supplier WHERE id = ?", supplierId);
+        assertSummariesMatch();
+
+        jdbcTemplate.update("DELETE FROM company WHERE id IN (?, ?)", companyId, otherCompanyId);
+        jdbcTemplate.update("DELETE FROM supplier WHERE id = ?", otherSupplierId);
+        assertSummariesMatch();
+    }
+
+    @Test
+    void shouldTrackLinkInsertsAndDeletes() {
+        long companyId = insertCompany("PE");
+        long otherCompanyId = insertCompany("PE");
+        long supplierId = insertSupplier("PJ", "PE");
+        long otherSupplierId = insertSupplier("PF", "PE");
+
+        link(companyId, supplierId);
+        assertSummariesMatch();
+
+        jdbcTemplate.update("INSERT INTO company_supplier (company_id, supplier_id) VALUES (?, ?), (?, ?)",
+                companyId, otherSupplierId, otherCompanyId, supplierId);
+        assertSummariesMatch();
+
+        jdbcTemplate.update("DELETE FROM company_supplier WHERE supplier_id = ?", supplierId);
+        assertSummariesMatch();
+
+        jdbcTemplate.update("DELETE FROM company_supplier WHERE company_id = ?", companyId);
+        assertSummariesMatch();
+    }
+
+    @Test
+    void shouldSpreadDeltasAcrossShards() {
+        for (int i = 0; i < 4; i++) insertCompany("AM");
+
+        Long shards = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM uf_statistics WHERE uf = 'AM'", Long.class);
+
+        assertTrue(shards > 1);
+        assertSummariesMatch();
+    }
+
+    private void assertSummariesMatch() {
+        assertEquals(jdbcTemplate.queryForList(RECOMPUTED_UF_STATISTICS), jdbcTemplate.queryForList(UF_STATISTICS));
+        assertEquals(jdbcTemplate.queryForList(RECOMPUTED_SUPPLIER_COUNTS), jdbcTemplate.queryForList(SUPPLIER_COUNTS));
+    }
+
+    private long insertCompany(String uf) {
+        return jdbcTemplate.queryForObject("INSERT INTO company (name, cnpj, cep, uf) " +
+                "VALUES ('Company', ?, '35604000', ?) RETURNING id", Long.class, document(), uf);
+    }
+
+    private long insertSupplier(String type, String uf) {
+        return jdbcTemplate.queryForObject("INSERT INTO supplier (name, pf_pj, cpf_cnpj, cep, uf) " +
+                "VALUES ('Supplier', ?, ?, '35604000', ?) RETURNING id", Long.class, type, document(), uf);
+    }
+
+    private void link(long companyId, long supplierId) {
+        jdbcTemplate.update("INSERT INTO company_supplier (company_id, supplier_id) VALUES (?, ?)", companyId, supplierId);
+    }
+
+    private static String document() {
+        return Long.toString(DOCUMENTS.incrementAndGet());
+    }
+}
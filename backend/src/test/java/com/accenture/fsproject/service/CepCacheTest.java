@@ -0,0 +1,124 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.dto.cep.CepResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CepCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final CepCache cache = new CepCache(2, Duration.ofMinutes(10), Duration.ofMinutes(1), now::get);
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("35604000", cep -> { loads.incrementAndGet(); return new CepResponseDTO("MG", null); });
+        CepResponseDTO response = cache.get("35604000", cep -> { loads.incrementAndGet(); return null; });
+
+        assertEquals("MG", response.uf());
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTtl() {
+        cache.get("35604000", cep -> new CepResponseDTO("MG", null));
+
+        now.addAndGet(Duration.ofMinutes(10).toNanos());
+
+        CepResponseDTO response = cache.get("35604000", cep -> new CepResponseDTO("SP", null));
+
+        assertEquals("SP", response.uf());
+        assertEquals(2, cache.missCount());
+        assertEquals(1, cache.expirationCount());
+        assertEquals(0, cache.evictionCount());
+    }
+
+    @Test
+    void shouldExpireNegativeEntriesBeforePositiveOnes() {
+        cache.get("00000000", cep -> null);
+        assertNull(cache.get("00000000", cep -> new CepResponseDTO("SP", null)));
+
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertEquals("SP", cache.get("00000000", cep -> new CepResponseDTO("SP", null)).uf());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+        cache.get("11111111", cep -> new CepResponseDTO("SP", null));
+        cache.get("22222222", cep -> new CepResponseDTO("RJ", null));
+        cache.get("11111111", cep -> null);
+        cache.get("33333333", cep -> new CepResponseDTO("MG", null));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+        assertEquals(0, cache.expirationCount());
+        assertEquals("SP", cache.get("11111111", cep -> null).uf());
+    }
+
+    @Test
+    void shouldNotCacheLoaderFailures() {
+        assertThrows(IllegalStateException.class, () -> cache.get("35604000", cep -> {
+            throw new IllegalStateException("ViaCep unavailable");
+        }));
+
+        assertEquals("MG", cache.get("35604000", cep -> new CepResponseDTO("MG", null)).uf());
+    }
+
+    @Test
+    void shouldLoadOnceForConcurrentMisses() throws Exception {
+        int callers = 50;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            List<Future<CepResponseDTO>> results = new ArrayList<>();
+
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("35604000", cep -> {
+                        loads.incrementAndGet();
+                        sleep(100);
+                        return new CepResponseDTO("MG", null);
+                    });
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<CepResponseDTO> result : results) {
+                assertEquals("MG", result.get(5, TimeUnit.SECONDS).uf());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
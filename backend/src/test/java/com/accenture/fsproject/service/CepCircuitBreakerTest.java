@@ -0,0 +1,82 @@
+package com.accenture.fsproject.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CepCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final CepCircuitBreaker circuitBreaker = new CepCircuitBreaker(3, Duration.ofSeconds(30), now::get);
+
+    @Test
+    void shouldOpenAfterConsecutiveFailures() {
+        fail(2);
+        circuitBreaker.onSuccess();
+        fail(2);
+
+        assertEquals(CepCircuitBreaker.State.CLOSED, circuitBreaker.state());
+
+        fail(1);
+
+        assertEquals(CepCircuitBreaker.State.OPEN, circuitBreaker.state());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void shouldLetSingleTrialCallThroughAfterOpenDuration() {
+        fail(3);
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(CepCircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+
+        circuitBreaker.onSuccess();
+
+        assertEquals(CepCircuitBreaker.State.CLOSED, circuitBreaker.state());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void shouldReopenWhenTrialCallFails() {
+        fail(3);
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onFailure();
+
+        assertEquals(CepCircuitBreaker.State.OPEN, circuitBreaker.state());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void shouldLetAnotherTrialThroughWhenPermissionIsReleased() {
+        fail(3);
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.releasePermission();
+
+        assertEquals(CepCircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(circuitBreaker.tryAcquirePermission());
+            circuitBreaker.onFailure();
+        }
+    }
+}
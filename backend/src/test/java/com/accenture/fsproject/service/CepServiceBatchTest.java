@@ -0,0 +1,120 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.config.CepProperties;
+import com.accenture.fsproject.config.RestClientConfig;
+import com.accenture.fsproject.dto.cep.CepResponseDTO;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CepServiceBatchTest {
+
+    private static final int PARALLELISM = 4;
+    private static final String UNKNOWN_CEP = "78999999";
+
+    private final AtomicInteger viaCepCalls = new AtomicInteger();
+    private final AtomicInteger viaCepInFlight = new AtomicInteger();
+    private final AtomicInteger viaCepPeakInFlight = new AtomicInteger();
+
+    private HttpServer viaCep;
+    private CloseableHttpClient httpClient;
+    private CepService cepService;
+
+    @BeforeEach
+    void startViaCepStub() throws IOException {
+        viaCep = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        viaCep.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        viaCep.createContext("/", exchange -> {
+            viaCepCalls.incrementAndGet();
+            viaCepPeakInFlight.accumulateAndGet(viaCepInFlight.incrementAndGet(), Math::max);
+
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                viaCepInFlight.decrementAndGet();
+            }
+
+            String json = exchange.getRequestURI().getPath().contains(UNKNOWN_CEP) ? "{\"erro\": true}" : "{\"uf\": \"RO\"}";
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        viaCep.start();
+
+        CepProperties properties = new CepProperties(
+                "http://localhost:" + viaCep.getAddress().getPort(),
+                new CepProperties.Cache(1000, Duration.ofHours(1), Duration.ofMinutes(1)),
+                new CepProperties.Bulkhead(20, Duration.ofSeconds(1)),
+                new CepProperties.Client(Duration.ofSeconds(1), Duration.ofSeconds(1), 20, Duration.ofSeconds(30)),
+                new CepProperties.CircuitBreaker(3, Duration.ofMinutes(1)),
+                new CepProperties.Batch(100, PARALLELISM)
+        );
+
+        RestClientConfig config = new RestClientConfig();
+        httpClient = config.cepHttpClient(properties, new SimpleMeterRegistry());
+        cepService = new CepService(config.cepRestClient(properties, httpClient), properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void stopViaCepStub() throws IOException {
+        httpClient.close();
+        viaCep.stop(0);
+    }
+
+    @Test
+    void shouldResolveDistinctCepsWithBoundedParallelism() {
+        List<String> ceps = new ArrayList<>();
+
+        for (int i = 0; i < 40; i++) {
+            ceps.add(String.format("789%05d", i));
+            ceps.add(String.format("789-%05d", i));
+        }
+        ceps.add(UNKNOWN_CEP);
+
+        cepService.getCepInfo("78900000");
+        viaCepCalls.set(0);
+
+        Map<String, CepResponseDTO> result = cepService.getCepInfoBatch(ceps);
+
+        assertEquals(41, result.size());
+        assertEquals("78900000", result.keySet().iterator().next());
+        assertEquals("RO", result.get("78900039").uf());
+        assertEquals(Boolean.TRUE, result.get(UNKNOWN_CEP).notFound());
+        assertEquals(40, viaCepCalls.get());
+        assertTrue(viaCepPeakInFlight.get() <= PARALLELISM, () -> "Peak of " + viaCepPeakInFlight.get() + " calls");
+    }
+
+    @Test
+    void shouldRejectOversizedBatch() {
+        List<String> ceps = new ArrayList<>();
+
+        for (int i = 0; i < 101; i++) {
+            ceps.add(String.format("789%05d", i));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> cepService.getCepInfoBatch(ceps));
+        assertEquals(0, viaCepCalls.get());
+    }
+}
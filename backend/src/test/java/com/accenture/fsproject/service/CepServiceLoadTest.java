@@ -0,0 +1,125 @@
+package com.accenture.fsproject.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires a burst of concurrent {@code GET /cep/{cep}} requests, each needing ViaCep, against a local ViaCep stub
+ * that takes {@link #VIACEP_LATENCY} per call. With virtual threads every request gets its own thread, and the
+ * bulkhead keeps the calls reaching the stub at {@link #MAX_CONCURRENT_CALLS}, so the burst drains in a fraction
+ * of the time the same lookups take one after another.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.threads.virtual.enabled=true",
+                "cep.bulkhead.max-concurrent-calls=20",
+                "cep.bulkhead.max-wait=30s"
+        })
+@ActiveProfiles("test")
+public class CepServiceLoadTest {
+
+    private static final int REQUESTS = 200;
+    private static final int MAX_CONCURRENT_CALLS = 20;
+    private static final Duration VIACEP_LATENCY = Duration.ofMillis(200);
+
+    private static final AtomicInteger viaCepCalls = new AtomicInteger();
+    private static final AtomicInteger viaCepInFlight = new AtomicInteger();
+    private static final AtomicInteger viaCepPeakInFlight = new AtomicInteger();
+
+    private static final HttpServer viaCep = startViaCepStub();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void viaCepBaseUrl(DynamicPropertyRegistry registry) {
+        registry.add("cep.base-url", () -> "http://localhost:" + viaCep.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopViaCepStub() {
+        viaCep.stop(0);
+    }
+
+    @Test
+    void shouldDrainBurstOfLookupsThroughBoundedViaCepCalls() {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        long start = System.nanoTime();
+
+        List<CompletableFuture<HttpResponse<String>>> responses = IntStream.range(0, REQUESTS)
+                .mapToObj(i -> HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/cep/" + String.format("01%06d", i))).build())
+                .map(request -> client.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+                .toList();
+
+        List<Integer> statuses = responses.stream().map(CompletableFuture::join).map(HttpResponse::statusCode).toList();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        Duration serial = VIACEP_LATENCY.multipliedBy(REQUESTS);
+
+        assertTrue(statuses.stream().allMatch(status -> status == 200), statuses::toString);
+        assertEquals(REQUESTS, viaCepCalls.get());
+        assertEquals(MAX_CONCURRENT_CALLS, viaCepPeakInFlight.get());
+        assertTrue(elapsed.compareTo(serial.dividedBy(4)) < 0,
+                () -> REQUESTS + " lookups took " + elapsed.toMillis() + " ms, "
+                        + (REQUESTS * 1000L / elapsed.toMillis()) + " lookups/s");
+    }
+
+    private static HttpServer startViaCepStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/", exchange -> {
+                int inFlight = viaCepInFlight.incrementAndGet();
+                viaCepPeakInFlight.accumulateAndGet(inFlight, Math::max);
+                viaCepCalls.incrementAndGet();
+
+                try {
+                    Thread.sleep(VIACEP_LATENCY);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    viaCepInFlight.decrementAndGet();
+                }
+
+                byte[] body = "{\"uf\": \"SP\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.config.CepProperties;
+import com.accenture.fsproject.config.RestClientConfig;
+import com.accenture.fsproject.exception.CepServiceUnavailableException;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link CepService} against a local ViaCep stub through the same pooled client the application uses.
+ */
+public class CepServiceResilienceTest {
+
+    private static final String OFFLINE_CEP = "35604000";
+    private static final String ONLINE_ONLY_CEP = "78900000";
+
+    private final AtomicInteger viaCepCalls = new AtomicInteger();
+    private final AtomicInteger viaCepStatus = new AtomicInteger(500);
+    private final AtomicReference<Duration> viaCepLatency = new AtomicReference<>(Duration.ZERO);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HttpServer viaCep;
+    private CloseableHttpClient httpClient;
+    private CepService cepService;
+
+    @BeforeEach
+    void startViaCepStub() throws IOException {
+        viaCep = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        viaCep.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        viaCep.createContext("/", exchange -> {
+            viaCepCalls.incrementAndGet();
+
+            try {
+                Thread.sleep(viaCepLatency.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            exchange.sendResponseHeaders(viaCepStatus.get(), -1);
+            exchange.close();
+        });
+        viaCep.start();
+
+        CepProperties properties = new CepProperties(
+                "http://localhost:" + viaCep.getAddress().getPort(),
+                new CepProperties.Cache(100, Duration.ofHours(1), Duration.ofMinutes(1)),
+                new CepProperties.Bulkhead(5, Duration.ofSeconds(1)),
+                new CepProperties.Client(Duration.ofMillis(500), Duration.ofMillis(200), 5, Duration.ofSeconds(30)),
+                new CepProperties.CircuitBreaker(3, Duration.ofMinutes(1)),
+                new CepProperties.Batch(100, 4)
+        );
+
+        RestClientConfig config = new RestClientConfig();
+        httpClient = config.cepHttpClient(properties, meterRegistry);
+        cepService = new CepService(config.cepRestClient(properties, httpClient), properties, meterRegistry);
+    }
+
+    @AfterEach
+    void stopViaCepStub() throws IOException {
+        httpClient.close();
+        viaCep.stop(0);
+    }
+
+    @Test
+    void shouldFailFastOnceCircuitOpens() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(CepServiceUnavailableException.class, () -> cepService.getCepInfo(ONLINE_ONLY_CEP));
+        }
+
+        assertThrows(CepServiceUnavailableException.class, () -> cepService.getCepInfo(ONLINE_ONLY_CEP));
+
+        assertEquals(3, viaCepCalls.get());
+        assertEquals(3, meterRegistry.get("cep.lookups").tag("outcome", "error").timer().count());
+        assertEquals(1, meterRegistry.get("cep.circuit.rejections").counter().count());
+    }
+
+    @Test
+    void shouldTreatThrottlingAsUnavailableInsteadOfInvalidCep() {
+        viaCepStatus.set(429);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(CepServiceUnavailableException.class, () -> cepService.getCepInfo(ONLINE_ONLY_CEP));
+        }
+
+        assertEquals(3, viaCepCalls.get());
+        assertEquals(0, meterRegistry.get("cep.lookups").tag("outcome", "not_found").timer().count());
+
+        assertThrows(CepServiceUnavailableException.class, () -> cepService.getCepInfo(ONLINE_ONLY_CEP));
+        assertEquals(3, viaCepCalls.get());
+        assertEquals(1, meterRegistry.get("cep.circuit.rejections").counter().count());
+    }
+
+    @Test
+    void shouldNegativeCacheCepsViaCepDoesNotKnow() {
+        viaCepStatus.set(404);
+
+        assertThrows(IllegalArgumentException.class, () -> cepService.getCepInfo(ONLINE_ONLY_CEP));
+        assertThrows(IllegalArgumentException.class, () -> cepService.getCepInfo(ONLINE_ONLY_CEP));
+
+        assertEquals(1, viaCepCalls.get());
+    }
+
+    @Test
+    void shouldFallBackToOfflineUfWhileViaCepIsUnavailable() {
+        assertThrows(CepServiceUnavailableException.class, () -> cepService.getCepInfo(ONLINE_ONLY_CEP));
+
+        assertEquals("MG", cepService.getCepInfo(OFFLINE_CEP).uf());
+        assertEquals(FederativeUnit.MG, cepService.resolveUf(OFFLINE_CEP));
+        assertEquals(1, meterRegistry.get("cep.offline.fallbacks").counter().count());
+    }
+
+    @Test
+    void shouldTimeOutSlowViaCepCalls() {
+        viaCepLatency.set(Duration.ofSeconds(2));
+
+        long start = System.nanoTime();
+        assertThrows(CepServiceUnavailableException.class, () -> cepService.getCepInfo(ONLINE_ONLY_CEP));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(1)) < 0, () -> "Lookup took " + elapsed.toMillis() + " ms");
+        assertEquals(1, meterRegistry.get("cep.lookups").tag("outcome", "timeout").timer().count());
+    }
+}
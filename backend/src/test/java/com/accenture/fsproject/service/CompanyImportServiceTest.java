@@ -0,0 +1,104 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.dto.imports.ImportReportDTO;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import com.accenture.fsproject.model.enums.ImportRowStatus;
+import com.accenture.fsproject.repository.CompanyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class CompanyImportServiceTest {
+
+    @Autowired
+    private CompanyImportService companyImportService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @AfterEach
+    void cleanUp() {
+        companyRepository.deleteAll();
+    }
+
+    @Test
+    void shouldImportValidCsvRowsAndReportInvalidOnes() {
+        String csv = """
+                name,cnpj,cep
+                Company A,90730183000193,49042210
+                Company B,61767128000170,93893970
+                Company C,20361127000144,89053516
+                Company D,90730183000193,35604000
+                Company E,53162442000109,3560
+                """;
+
+        ImportReportDTO report = companyImportService.importCsv(toStream(csv));
+
+        assertEquals(5, report.total());
+        assertEquals(2, report.imported());
+        assertEquals(3, report.failed());
+        assertEquals(ImportRowStatus.IMPORTED, report.rows().get(0).status());
+        assertEquals("Invalid CNPJ.", report.rows().get(2).message());
+        assertEquals("CNPJ is repeated in the import file.", report.rows().get(3).message());
+        assertEquals("cep: \"CEP\" must have 8 digits", report.rows().get(4).message());
+
+        assertEquals(FederativeUnit.RS, companyRepository.findAll().stream()
+                .filter(company -> company.getCnpj().equals("61767128000170"))
+                .findFirst()
+                .orElseThrow()
+                .getUf());
+    }
+
+    @Test
+    void shouldRejectNdjsonRowsForExistingCnpj() {
+        companyImportService.importNdjson(toStream("""
+                {"name": "Company A", "cnpj": "90730183000193", "cep": "49042210"}
+                """));
+
+        ImportReportDTO report = companyImportService.importNdjson(toStream("""
+                {"name": "Company A", "cnpj": "90730183000193", "cep": "49042210"}
+                {"name": "Company B", "cnpj": "61767128000170", "cep": "93893970"}
+                not json
+                """));
+
+        assertEquals(1, report.imported());
+        assertEquals("Company with this CNPJ already exists", report.rows().get(0).message());
+        assertEquals(ImportRowStatus.FAILED, report.rows().get(2).status());
+        assertEquals(2, companyRepository.count());
+    }
+
+    @Test
+    void shouldOnlyFailTheRowsTheDatabaseRejects() {
+        companyImportService.importCsv(toStream("""
+                name,cnpj,cep
+                Company A,90730183000193,49042210
+                """));
+
+        // Company names are unique in the test schema but not pre-checked, so the first insert of the chunk fails.
+        ImportReportDTO report = companyImportService.importCsv(toStream("""
+                name,cnpj,cep
+                Company B,61767128000170,93893970
+                Company A,53162442000109,49042210
+                Company C,11444777000161,35604000
+                """));
+
+        assertEquals(2, report.imported());
+        assertEquals(ImportRowStatus.FAILED, report.rows().get(1).status());
+        assertTrue(report.rows().get(1).message().startsWith("Could not save row: "));
+        assertEquals(3, companyRepository.count());
+    }
+
+    private static InputStream toStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
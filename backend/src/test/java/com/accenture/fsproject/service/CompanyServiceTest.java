@@ -1,6 +1,6 @@
 package com.accenture.fsproject.service;
 
-import com.accenture.fsproject.dto.cep.CepResponseDTO;
+import com.accenture.fsproject.config.EntityCacheProperties;
 import com.accenture.fsproject.dto.company.CompanyCreateDTO;
 import com.accenture.fsproject.dto.company.CompanyResponseDTO;
 import com.accenture.fsproject.dto.company.CompanyResponseDetailsDTO;
@@ -10,24 +10,35 @@ import com.accenture.fsproject.exception.ItemNotFoundException;
 import com.accenture.fsproject.model.Company;
 import com.accenture.fsproject.model.enums.FederativeUnit;
 import com.accenture.fsproject.model.enums.SearchType;
+import com.accenture.fsproject.repository.AssociationCacheEvictor;
 import com.accenture.fsproject.repository.CompanyRepository;
+import com.accenture.fsproject.repository.CompanyRow;
+import com.accenture.fsproject.repository.CompanySupplierJdbcRepository;
+import com.accenture.fsproject.repository.CompanySupplierLink;
+import com.accenture.fsproject.repository.SupplierRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,9 +54,24 @@ public class CompanyServiceTest {
     @Mock
     private CepService cepService;
 
+    @Mock
+    private EntityCacheProperties entityCacheProperties;
+
+    @Mock
+    private AssociationCacheEvictor associationCacheEvictor;
+
+    @Mock
+    private CompanySupplierJdbcRepository companySupplierJdbcRepository;
+
+    @Mock
+    private SupplierRepository supplierRepository;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @Test
     void shouldThrowExceptionWhenCompanyNotFound() {
-        when(companyRepository.findById(0L)).thenReturn(Optional.empty());
+        when(companyRepository.findRowById(0L)).thenReturn(Optional.empty());
 
         assertThrows(ItemNotFoundException.class, () -> companyService.findById(0L));
     }
@@ -82,13 +108,9 @@ public class CompanyServiceTest {
 
     @Test
     void shouldReturnCompanyWhenFound() {
-        Company company = new Company();
-        company.setName("Company A");
-        company.setCnpj("53162442000109");
-        company.setCep("35604000");
-        company.setUf(FederativeUnit.MG);
+        CompanyRow company = new CompanyRow(1L, "Company A", "53162442000109", "35604000", FederativeUnit.MG);
 
-        when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
+        when(companyRepository.findRowById(1L)).thenReturn(Optional.of(company));
 
         CompanyResponseDetailsDTO response = companyService.findById(1L);
 
@@ -104,9 +126,9 @@ public class CompanyServiceTest {
         String query = "testing...";
 
         Pageable pageable = PageRequest.of(0, 5);
-        Page<Company> page = Page.empty(pageable);
+        Page<CompanyRow> page = Page.empty(pageable);
 
-        when(companyRepository.findByNameOrCnpj(query, pageable)).thenReturn(page);
+        when(companyRepository.findByNameOrCnpjLike("%testing...%", pageable)).thenReturn(page);
 
         Page<CompanyResponseDTO> result = companyService.search(query, SearchType.GENERAL, pageable);
 
@@ -116,21 +138,48 @@ public class CompanyServiceTest {
 
     @Test
     void shouldReturnCompaniesWhenSearchWithMatches() {
-        Company company = new Company();
-        company.setId(1L);
-        company.setName("Company A");
+        CompanyRow company = new CompanyRow(1L, "Company A", null, null, null);
 
-        Page<Company> page = new PageImpl<>(List.of(company));
+        Page<CompanyRow> page = new PageImpl<>(List.of(company));
         Pageable pageable = PageRequest.of(0, 5);
 
-        when(companyRepository.findByNameOrCnpj(company.getName(), pageable)).thenReturn(page);
+        when(companyRepository.findByNameOrCnpjLike("%company a%", pageable)).thenReturn(page);
 
-        Page<CompanyResponseDTO> result = companyService.search(company.getName(), SearchType.GENERAL, pageable);
+        Page<CompanyResponseDTO> result = companyService.search(company.name(), SearchType.GENERAL, pageable);
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.getTotalElements());
     }
 
+    @Test
+    void shouldSearchCnpjByPrefixWhenQueryIsDigits() {
+        CompanyRow company = new CompanyRow(1L, "Company A", "90730183000193", null, null);
+
+        Page<CompanyRow> page = new PageImpl<>(List.of(company));
+        Pageable pageable = PageRequest.of(0, 5);
+
+        when(companyRepository.existsByCnpjStartingWith("90730183")).thenReturn(true);
+        when(companyRepository.findByCnpjLike("90730183%", pageable)).thenReturn(page);
+
+        Page<CompanyResponseDTO> result = companyService.search("90.730.183", SearchType.CPF_CNPJ, pageable);
+
+        assertEquals(1, result.getTotalElements());
+        verify(companyRepository, never()).findByCnpjLike("%90730183%", pageable);
+    }
+
+    @Test
+    void shouldFallBackToContainmentWhenNoCnpjStartsWithQuery() {
+        Pageable pageable = PageRequest.of(0, 5);
+
+        when(companyRepository.existsByCnpjStartingWith("0193")).thenReturn(false);
+        when(companyRepository.findByCnpjLike("%0193%", pageable))
+                .thenReturn(new PageImpl<>(List.of(new CompanyRow(1L, "Company A", "90730183000193", null, null))));
+
+        Page<CompanyResponseDTO> result = companyService.search("0193", SearchType.CPF_CNPJ, pageable);
+
+        assertEquals(1, result.getTotalElements());
+    }
+
     @Test
     void shouldUpdateCompany() {
         Company company = new Company();
@@ -148,17 +197,49 @@ public class CompanyServiceTest {
                 Collections.emptySet()
         );
 
-        CepResponseDTO cepDto = new CepResponseDTO("MG", null);
-
         when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
 
-        when(cepService.getCepInfo(dto.cep())).thenReturn(cepDto);
+        when(cepService.resolveUf(dto.cep())).thenReturn(FederativeUnit.MG);
 
         CompanyResponseDetailsDTO response = companyService.update(1L, dto);
 
         assertEquals("Compania A", response.name());
     }
 
+    @Test
+    void shouldApplyOnlySupplierDifferenceOnUpdate() {
+        Company company = new Company();
+        company.setId(1L);
+        company.setName("Company A");
+        company.setUf(FederativeUnit.MG);
+
+        when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
+        when(companyRepository.findSupplierLinks(List.of(1L))).thenReturn(List.of(link(1L, 10L), link(1L, 11L)));
+
+        companyService.update(1L, new CompanyUpdateDTO(null, null, null, Set.of(11L, 12L)));
+
+        verify(companySupplierJdbcRepository).deleteSuppliers(1L, Set.of(10L));
+        verify(companySupplierJdbcRepository).insertSuppliers(1L, Set.of(12L));
+    }
+
+    @Test
+    void shouldNotAddSuppliersToMissingCompany() {
+        when(companyRepository.findRowById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ItemNotFoundException.class, () -> companyService.addSuppliers(1L, Set.of(10L)));
+        verify(companySupplierJdbcRepository, never()).insertSuppliers(any(Long.class), any());
+    }
+
+    @Test
+    void shouldNotLookForUnderageSuppliersWhenAddingNone() {
+        when(companyRepository.findRowById(1L)).thenReturn(Optional.of(
+                new CompanyRow(1L, "Company A", "53162442000109", "80010000", FederativeUnit.PR)));
+
+        companyService.addSuppliers(1L, Set.of());
+
+        verify(supplierRepository, never()).findIdsOfPfBornAfter(any(), any(), any());
+    }
+
     @Test
     void shouldDeleteCompany() {
         when(companyRepository.existsById(1L)).thenReturn(true);
@@ -179,7 +260,7 @@ public class CompanyServiceTest {
         );
 
         when(companyRepository.existsByCnpj(dto.cnpj())).thenReturn(false);
-        when(cepService.getCepInfo(dto.cep())).thenReturn(new CepResponseDTO("MG", null));
+        when(cepService.resolveUf(dto.cep())).thenReturn(FederativeUnit.MG);
         when(companyRepository.save(any(Company.class)))
                 .thenAnswer(i -> i.getArgument(0));
 
@@ -190,22 +271,17 @@ public class CompanyServiceTest {
 
     @Test
     void shouldFindAll() {
-        Company company = new Company();
-        company.setId(1L);
-        company.setName("Company A");
+        CompanyRow company = new CompanyRow(1L, "Company A", null, null, null);
+        CompanyRow otherCompany = new CompanyRow(2L, "Company B", null, null, null);
 
-        Company otherCompany = new Company();
-        otherCompany.setId(2L);
-        otherCompany.setName("Company B");
-
-        List<Company> companies = new ArrayList<>();
+        List<CompanyRow> companies = new ArrayList<>();
         companies.add(company);
         companies.add(otherCompany);
 
-        Page<Company> page = new PageImpl<>(companies);
+        Page<CompanyRow> page = new PageImpl<>(companies);
         Pageable pageable = PageRequest.of(0, 5);
 
-        when(companyRepository.findAll(pageable)).thenReturn(page);
+        when(companyRepository.findAllRows(pageable)).thenReturn(page);
 
         Page<CompanyResponseDTO> result = companyService.findAll(pageable);
 
@@ -215,14 +291,28 @@ public class CompanyServiceTest {
 
     @Test
     void shouldReturnNone() {
-        Page<Company> page = Page.empty();
+        Page<CompanyRow> page = Page.empty();
         Pageable pageable = PageRequest.of(0, 5);
 
-        when(companyRepository.findAll(pageable)).thenReturn(page);
+        when(companyRepository.findAllRows(pageable)).thenReturn(page);
 
         Page<CompanyResponseDTO> result = companyService.findAll(pageable);
 
         assertTrue(result.isEmpty());
         assertEquals(0, result.getTotalElements());
     }
-}
\ No newline at end of file
+
+    private static CompanySupplierLink link(Long companyId, Long supplierId) {
+        return new CompanySupplierLink() {
+            @Override
+            public Long getCompanyId() {
+                return companyId;
+            }
+
+            @Override
+            public Long getSupplierId() {
+                return supplierId;
+            }
+        };
+    }
+}
@@ -0,0 +1,164 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.TestData;
+import com.accenture.fsproject.dto.company.CompanySummaryDTO;
+import com.accenture.fsproject.dto.company.CompanyUpdateDTO;
+import com.accenture.fsproject.dto.page.CursorPageDTO;
+import com.accenture.fsproject.dto.supplier.SupplierSummaryDTO;
+import com.accenture.fsproject.dto.supplier.SupplierUpdateDTO;
+import com.accenture.fsproject.exception.BusinessLogicException;
+import com.accenture.fsproject.exception.ItemNotFoundException;
+import com.accenture.fsproject.model.enums.DetailView;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import com.accenture.fsproject.model.enums.SupplierType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class CompanySupplierLinksTest {
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long companyId;
+    private List<Long> suppliersIds;
+
+    @BeforeEach
+    void seed() {
+        companyId = TestData.insertCompany(jdbcTemplate, "Company A", "53162442000109");
+
+        suppliersIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            suppliersIds.add(TestData.insertSupplier(jdbcTemplate, "Supplier " + i, String.format("%014d", i)));
+        }
+
+        TestData.link(jdbcTemplate, companyId, suppliersIds.get(0));
+        TestData.link(jdbcTemplate, companyId, suppliersIds.get(1));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TestData.deleteAll(jdbcTemplate);
+    }
+
+    @Test
+    void shouldReplaceSuppliersByDifference() {
+        var company = companyService.update(companyId, new CompanyUpdateDTO(null, null, null,
+                Set.of(suppliersIds.get(1), suppliersIds.get(2))));
+
+        assertEquals(Set.of(suppliersIds.get(1), suppliersIds.get(2)), linkedSuppliers());
+        assertEquals(2, company.suppliers().size());
+    }
+
+    @Test
+    void shouldAddAndRemoveSuppliersIncrementally() {
+        long missingSupplierId = suppliersIds.get(2) + 100;
+
+        companyService.addSuppliers(companyId, Set.of(suppliersIds.get(1), suppliersIds.get(2), missingSupplierId));
+
+        assertEquals(new HashSet<>(suppliersIds), linkedSuppliers());
+
+        companyService.removeSuppliers(companyId, Set.of(suppliersIds.get(0), missingSupplierId));
+
+        assertEquals(Set.of(suppliersIds.get(1), suppliersIds.get(2)), linkedSuppliers());
+    }
+
+    @Test
+    void shouldReplaceSupplierCompaniesByDifference() {
+        long otherCompanyId = TestData.insertCompany(jdbcTemplate, "Company B", "11222333000181");
+
+        var supplier = supplierService.update(suppliersIds.get(0), new SupplierUpdateDTO(null, null, null, null, null, null,
+                Set.of(otherCompanyId)));
+
+        assertEquals(Set.of("Company B"), supplier.companies().stream().map(CompanySummaryDTO::name).collect(Collectors.toSet()));
+        assertEquals(Set.of(suppliersIds.get(1)), linkedSuppliers());
+    }
+
+    @Test
+    void shouldRejectUnderageSupplierForParanaCompany() {
+        jdbcTemplate.update("INSERT INTO company (name, cnpj, cep, uf) VALUES ('Company PR', '11222333000181', '80010000', 'PR')");
+        long paranaCompanyId = jdbcTemplate.queryForObject("SELECT id FROM company WHERE uf = 'PR'", Long.class);
+
+        jdbcTemplate.update("INSERT INTO supplier (name, pf_pj, cpf_cnpj, rg, birthdate, cep, uf) VALUES (?, 'PF', '52998224725', '1234567', ?, '35604000', 'MG')",
+                "Supplier PF", LocalDate.now().minusYears(17));
+        long underageId = jdbcTemplate.queryForObject("SELECT id FROM supplier WHERE pf_pj = 'PF'", Long.class);
+
+        BusinessLogicException e = assertThrows(BusinessLogicException.class, () -> supplierService.update(underageId,
+                new SupplierUpdateDTO(null, null, null, null, null, null, Set.of(companyId, paranaCompanyId))));
+
+        assertTrue(e.getMessage().contains(String.valueOf(paranaCompanyId)));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM company_supplier WHERE supplier_id = ?", Integer.class, underageId));
+    }
+
+    @Test
+    void shouldReportOnlyUnderageSuppliersForParanaCompany() {
+        jdbcTemplate.update("UPDATE company SET uf = 'PR' WHERE id = ?", companyId);
+        jdbcTemplate.update("INSERT INTO supplier (name, pf_pj, cpf_cnpj, rg, birthdate, cep, uf) VALUES (?, 'PF', '52998224725', '1234567', ?, '35604000', 'MG')",
+                "Supplier PF", LocalDate.now().minusYears(18).plusDays(1));
+        jdbcTemplate.update("INSERT INTO supplier (name, pf_pj, cpf_cnpj, rg, birthdate, cep, uf) VALUES (?, 'PF', '11144477735', '7654321', ?, '35604000', 'MG')",
+                "Supplier Adult", LocalDate.now().minusYears(18));
+        long underageId = jdbcTemplate.queryForObject("SELECT id FROM supplier WHERE name = 'Supplier PF'", Long.class);
+        long adultId = jdbcTemplate.queryForObject("SELECT id FROM supplier WHERE name = 'Supplier Adult'", Long.class);
+
+        BusinessLogicException e = assertThrows(BusinessLogicException.class,
+                () -> companyService.addSuppliers(companyId, Set.of(suppliersIds.get(2), underageId, adultId)));
+
+        assertTrue(e.getMessage().endsWith("[" + underageId + "]"));
+
+        companyService.addSuppliers(companyId, Set.of(adultId));
+
+        assertTrue(linkedSuppliers().contains(adultId));
+    }
+
+    @Test
+    void shouldPageCompanySuppliersByKeyset() {
+        companyService.addSuppliers(companyId, Set.of(suppliersIds.get(2)));
+
+        CursorPageDTO<SupplierSummaryDTO> first = companyService.findSuppliers(companyId, null, null, null, 2);
+        CursorPageDTO<SupplierSummaryDTO> second = companyService.findSuppliers(companyId, null, null, first.nextCursor(), 2);
+
+        assertEquals(suppliersIds.subList(0, 2), first.content().stream().map(SupplierSummaryDTO::id).toList());
+        assertTrue(first.hasNext());
+        assertEquals(List.of(suppliersIds.get(2)), second.content().stream().map(SupplierSummaryDTO::id).toList());
+        assertFalse(second.hasNext());
+
+        assertTrue(companyService.findSuppliers(companyId, SupplierType.PF, null, null, 2).content().isEmpty());
+        assertEquals(3, companyService.findSuppliers(companyId, SupplierType.PJ, FederativeUnit.MG, null, 5).content().size());
+        assertEquals(List.of(companyId), supplierService.findCompanies(suppliersIds.get(0), FederativeUnit.MG, null, 5)
+                .content().stream().map(CompanySummaryDTO::id).toList());
+        assertThrows(ItemNotFoundException.class, () -> supplierService.findCompanies(suppliersIds.get(2) + 100, null, null, 5));
+    }
+
+    @Test
+    void shouldLeaveAssociationsOutOfLightDetails() {
+        assertNull(companyService.findById(companyId, DetailView.LIGHT).suppliers());
+        assertEquals(2, companyService.findById(companyId, DetailView.FULL).suppliers().size());
+        assertNull(supplierService.findById(suppliersIds.get(0), DetailView.LIGHT).companies());
+    }
+
+    private Set<Long> linkedSuppliers() {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT supplier_id FROM company_supplier WHERE company_id = ?", Long.class, companyId));
+    }
+}
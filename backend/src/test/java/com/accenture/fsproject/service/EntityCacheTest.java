@@ -0,0 +1,127 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.dto.company.CompanyResponseDetailsDTO;
+import com.accenture.fsproject.dto.company.CompanyUpdateDTO;
+import com.accenture.fsproject.dto.supplier.SupplierSummaryDTO;
+import com.accenture.fsproject.repository.CompanySupplierJdbcRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "entity-cache.enabled=true")
+@ActiveProfiles("test")
+public class EntityCacheTest {
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private CompanySupplierJdbcRepository companySupplierJdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    private long companyId;
+    private List<Long> suppliersIds;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        jdbcTemplate.update("INSERT INTO company (name, cnpj, cep, uf) VALUES ('Company A', '53162442000109', '35604000', 'MG')");
+        companyId = jdbcTemplate.queryForObject("SELECT id FROM company", Long.class);
+
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("INSERT INTO supplier (name, pf_pj, cpf_cnpj, cep, uf) VALUES (?, 'PJ', ?, '35604000', 'MG')",
+                    "Supplier " + i, String.format("%014d", i));
+        }
+
+        suppliersIds = jdbcTemplate.queryForList("SELECT id FROM supplier ORDER BY id", Long.class);
+
+        jdbcTemplate.update("INSERT INTO company_supplier (company_id, supplier_id) VALUES (?, ?), (?, ?)",
+                companyId, suppliersIds.get(0), companyId, suppliersIds.get(1));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM company_supplier");
+        jdbcTemplate.update("DELETE FROM supplier");
+        jdbcTemplate.update("DELETE FROM company");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void shouldServeRepeatedDetailViewsFromSecondLevelCache() {
+        companyService.findById(companyId);
+
+        statistics.clear();
+        CompanyResponseDetailsDTO company = companyService.findById(companyId);
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(Set.of("Supplier 0", "Supplier 1"), supplierNames(company));
+
+        double hits = meterRegistry.find("hibernate.second.level.cache.requests").tag("result", "hit")
+                .functionCounters().stream().mapToDouble(FunctionCounter::count).sum();
+
+        assertTrue(hits > 0);
+    }
+
+    @Test
+    void shouldEvictCachedAssociationsOnJdbcWritesAndDeletes() {
+        companyService.findById(companyId);
+
+        companySupplierJdbcRepository.insertAll(List.of(new CompanySupplierJdbcRepository.Link(companyId, suppliersIds.get(2))));
+
+        assertEquals(Set.of("Supplier 0", "Supplier 1", "Supplier 2"), supplierNames(companyService.findById(companyId)));
+
+        supplierService.findById(suppliersIds.get(0));
+
+        companyService.delete(companyId);
+
+        assertTrue(supplierService.findById(suppliersIds.get(0)).companies().isEmpty());
+    }
+
+    @Test
+    void shouldRefreshCachedCompanyOnUpdate() {
+        companyService.findById(companyId);
+        supplierService.findById(suppliersIds.get(2));
+
+        companyService.update(companyId, new CompanyUpdateDTO("Company B", null, null, Set.of(suppliersIds.get(2))));
+
+        CompanyResponseDetailsDTO company = companyService.findById(companyId);
+
+        assertEquals("Company B", company.name());
+        assertEquals(Set.of("Supplier 2"), supplierNames(company));
+        assertEquals(1, supplierService.findById(suppliersIds.get(2)).companies().size());
+    }
+
+    private static Set<String> supplierNames(CompanyResponseDetailsDTO company) {
+        return company.suppliers().stream().map(SupplierSummaryDTO::name).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,98 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.dto.company.CompanyResponseDTO;
+import com.accenture.fsproject.dto.supplier.SupplierResponseDTO;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ExportServiceTest {
+
+    @Autowired
+    private CompanyExportService companyExportService;
+
+    @Autowired
+    private SupplierExportService supplierExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO company (name, cnpj, cep, uf) VALUES ('Company A', '90730183000193', '49042210', 'SE')");
+        jdbcTemplate.update("INSERT INTO company (name, cnpj, cep, uf) VALUES ('Company B', '61767128000170', '93893970', 'RS')");
+        jdbcTemplate.update("INSERT INTO supplier (name, pf_pj, cpf_cnpj, rg, birthdate, cep, uf) " +
+                "VALUES ('Supplier 1', 'PF', '61301162094', '264504586', DATE '1998-01-01', '86709224', 'PR')");
+        jdbcTemplate.update("INSERT INTO supplier (name, pf_pj, cpf_cnpj, cep, uf) " +
+                "VALUES ('Supplier 2', 'PJ', '13284781000135', '22783230', 'RJ')");
+        jdbcTemplate.update("INSERT INTO company_supplier (company_id, supplier_id) " +
+                "SELECT c.id, s.id FROM company c CROSS JOIN supplier s WHERE c.name = 'Company A'");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM company_supplier");
+        jdbcTemplate.update("DELETE FROM supplier");
+        jdbcTemplate.update("DELETE FROM company");
+    }
+
+    @Test
+    void shouldExportEveryCompanyWithItsSuppliersIds() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        companyExportService.exportNdjson(output);
+
+        List<CompanyResponseDTO> companies = readLines(output, CompanyResponseDTO.class);
+        List<Long> suppliersIds = jdbcTemplate.queryForList("SELECT id FROM supplier", Long.class);
+
+        assertEquals(2, companies.size());
+        assertEquals("Company A", companies.get(0).name());
+        assertEquals(FederativeUnit.SE, companies.get(0).uf());
+        assertEquals(Set.copyOf(suppliersIds), companies.get(0).suppliersIds());
+        assertEquals(Set.of(), companies.get(1).suppliersIds());
+    }
+
+    @Test
+    void shouldExportEverySupplierWithItsCompaniesIds() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        supplierExportService.exportNdjson(output);
+
+        List<SupplierResponseDTO> suppliers = readLines(output, SupplierResponseDTO.class);
+        Long companyId = jdbcTemplate.queryForObject("SELECT id FROM company WHERE name = 'Company A'", Long.class);
+
+        assertEquals(2, suppliers.size());
+        assertEquals(LocalDate.of(1998, 1, 1), suppliers.get(0).birthdate());
+        assertTrue(suppliers.stream().allMatch(supplier -> supplier.companiesIds().equals(Set.of(companyId))));
+    }
+
+    private <T> List<T> readLines(ByteArrayOutputStream output, Class<T> type) throws IOException {
+        String content = output.toString(StandardCharsets.UTF_8);
+        assertTrue(content.endsWith("\n"));
+
+        List<T> rows = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            rows.add(objectMapper.readValue(line, type));
+        }
+        return rows;
+    }
+}
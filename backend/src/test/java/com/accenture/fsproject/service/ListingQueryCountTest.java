@@ -0,0 +1,119 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.TestData;
+import com.accenture.fsproject.dto.company.CompanyResponseDTO;
+import com.accenture.fsproject.dto.page.CursorPageDTO;
+import com.accenture.fsproject.dto.supplier.SupplierResponseDTO;
+import com.accenture.fsproject.model.enums.SearchType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class ListingQueryCountTest {
+
+    private static final int ROWS = 30;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < ROWS; i++) {
+            TestData.insertCompany(jdbcTemplate, "Company " + i, String.format("%014d", i));
+            TestData.insertSupplier(jdbcTemplate, "Supplier " + i, String.format("%014d", i));
+        }
+
+        jdbcTemplate.update("INSERT INTO company_supplier (company_id, supplier_id) " +
+                "SELECT c.id, s.id FROM company c CROSS JOIN supplier s WHERE MOD(c.id + s.id, 3) = 0");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TestData.deleteAll(jdbcTemplate);
+    }
+
+    @Test
+    void shouldListCompaniesWithConstantNumberOfStatements() {
+        long smallPage = countStatements(() -> companyService.findAll(PageRequest.of(0, 5)));
+        long largePage = countStatements(() -> companyService.findAll(PageRequest.of(0, 20)));
+        long search = countStatements(() -> companyService.search("Company", SearchType.GENERAL, PageRequest.of(0, 20)));
+
+        assertEquals(3, smallPage);
+        assertEquals(smallPage, largePage);
+        assertEquals(smallPage, search);
+
+        Page<CompanyResponseDTO> page = companyService.findAll(PageRequest.of(0, 20));
+        assertTrue(page.getContent().stream().allMatch(company -> company.suppliersIds().size() == ROWS / 3));
+    }
+
+    @Test
+    void shouldListSuppliersWithConstantNumberOfStatements() {
+        long smallPage = countStatements(() -> supplierService.findAll(PageRequest.of(0, 5)));
+        long largePage = countStatements(() -> supplierService.findAll(PageRequest.of(0, 20)));
+        long search = countStatements(() -> supplierService.search("Supplier", SearchType.GENERAL, PageRequest.of(0, 20)));
+
+        assertEquals(3, smallPage);
+        assertEquals(smallPage, largePage);
+        assertEquals(smallPage, search);
+
+        Page<SupplierResponseDTO> page = supplierService.findAll(PageRequest.of(0, 20));
+        assertTrue(page.getContent().stream().allMatch(supplier -> supplier.companiesIds().size() == ROWS / 3));
+    }
+
+    @Test
+    void shouldScrollCompaniesByCursorWithoutCountQuery() {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        CursorPageDTO<CompanyResponseDTO> page;
+
+        do {
+            String after = cursor;
+            long statements = countStatements(() -> companyService.search("company", SearchType.GENERAL, after, 7));
+            page = companyService.search("company", SearchType.GENERAL, after, 7);
+
+            assertEquals(2, statements);
+            page.content().forEach(company -> ids.add(company.id()));
+            cursor = page.nextCursor();
+        } while (page.hasNext());
+
+        assertEquals(ROWS, ids.size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+        assertThrows(IllegalArgumentException.class, () -> companyService.findAll("not-a-cursor", 5));
+    }
+
+    private long countStatements(Supplier<?> listing) {
+        statistics.clear();
+        listing.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
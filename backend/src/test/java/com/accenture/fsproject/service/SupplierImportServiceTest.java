@@ -0,0 +1,152 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.dto.imports.ImportReportDTO;
+import com.accenture.fsproject.model.Company;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import com.accenture.fsproject.model.enums.ImportRowStatus;
+import com.accenture.fsproject.repository.CompanyRepository;
+import com.accenture.fsproject.repository.SupplierRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class SupplierImportServiceTest {
+
+    @Autowired
+    private SupplierImportService supplierImportService;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM company_supplier");
+        supplierRepository.deleteAll();
+        companyRepository.deleteAll();
+    }
+
+    @Test
+    void shouldImportSuppliersAndLinkExistingCompanies() {
+        Company company = new Company();
+        company.setName("Company A");
+        company.setCnpj("90730183000193");
+        company.setCep("49042210");
+        company.setUf(FederativeUnit.SE);
+        Long companyId = companyRepository.save(company).getId();
+
+        String csv = """
+                name,type,cpfCnpj,rg,birthdate,email,cep,companiesIds
+                Supplier 1,PJ,13284781000135,,,s1@mail.com,22783230,%d;999999
+                Supplier 2,PF,61301162094,264504586,01/01/1998,s2@mail.com,86709224,%d
+                Supplier 3,PF,60312218028,,,s3@mail.com,86709224,
+                Supplier 4,PJ,74375135000178,,,not-an-email,76900471,
+                """.formatted(companyId, companyId);
+
+        ImportReportDTO report = supplierImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, report.imported());
+        assertEquals("PF supplier should have both \"birthdate\" and \"rg\" filled.", report.rows().get(2).message());
+        assertEquals("email: Invalid email.", report.rows().get(3).message());
+        assertEquals(2, supplierRepository.count());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM company_supplier WHERE company_id = ?", Integer.class, companyId));
+    }
+
+    @Test
+    void shouldFailUnderagePfRowsTargetingCompaniesFromParana() {
+        Company company = new Company();
+        company.setName("Company PR");
+        company.setCnpj("90730183000193");
+        company.setCep("80010000");
+        company.setUf(FederativeUnit.PR);
+        Long companyId = companyRepository.save(company).getId();
+
+        String underageBirthdate = LocalDate.now().minusYears(17).format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+
+        String csv = """
+                name,type,cpfCnpj,rg,birthdate,email,cep,companiesIds
+                Supplier 1,PF,61301162094,264504586,%s,s1@mail.com,86709224,%d
+                Supplier 2,PF,60312218028,264504587,01/01/1998,s2@mail.com,86709224,%d
+                Supplier 3,PF,52998224725,264504588,%s,s3@mail.com,86709224,
+                """.formatted(underageBirthdate, companyId, companyId, underageBirthdate);
+
+        ImportReportDTO report = supplierImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, report.imported());
+        assertEquals(ImportRowStatus.FAILED, report.rows().get(0).status());
+        assertEquals("Underage PF supplier cannot be added to the following companies from Paraná: [" + companyId + "]",
+                report.rows().get(0).message());
+        assertFalse(supplierRepository.existsByCpfCnpj("61301162094"));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM company_supplier WHERE company_id = ?", Integer.class, companyId));
+    }
+
+    @Test
+    void shouldRejectRowsWithATakenOrRepeatedRg() {
+        String csv = """
+                name,type,cpfCnpj,rg,birthdate,email,cep,companiesIds
+                Supplier 1,PF,61301162094,264504586,01/01/1998,s1@mail.com,86709224,
+                Supplier 2,PF,60312218028,264504586,01/01/1998,s2@mail.com,86709224,
+                """;
+
+        ImportReportDTO first = supplierImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("RG is repeated in the import file.", first.rows().get(1).message());
+
+        ImportReportDTO report = supplierImportService.importCsv(new ByteArrayInputStream("""
+                name,type,cpfCnpj,rg,birthdate,email,cep,companiesIds
+                Supplier 3,PF,52998224725,264504586,01/01/1998,s3@mail.com,86709224,
+                """.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("Supplier with this RG already exists.", report.rows().get(0).message());
+        assertEquals(1, supplierRepository.count());
+    }
+
+    @Test
+    void shouldOnlyFailTheRowsTheDatabaseRejects() {
+        Company company = new Company();
+        company.setName("Company A");
+        company.setCnpj("90730183000193");
+        company.setCep("49042210");
+        company.setUf(FederativeUnit.SE);
+        Long companyId = companyRepository.save(company).getId();
+
+        // E-mails are unique in the test schema but not pre-checked, so the chunk's batched insert fails.
+        String csv = """
+                name,type,cpfCnpj,rg,birthdate,email,cep,companiesIds
+                Supplier 1,PF,61301162094,264504586,01/01/1998,s1@mail.com,86709224,%d
+                Supplier 2,PF,60312218028,264504587,01/01/1998,s1@mail.com,86709224,%d
+                Supplier 3,PJ,13284781000135,,,s3@mail.com,22783230,%d
+                """.formatted(companyId, companyId, companyId);
+
+        ImportReportDTO report = supplierImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, report.imported());
+        assertEquals(ImportRowStatus.FAILED, report.rows().get(1).status());
+        assertTrue(report.rows().get(1).message().startsWith("Could not save row: "));
+        assertEquals(2, supplierRepository.count());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM company_supplier WHERE company_id = ?", Integer.class, companyId));
+    }
+}
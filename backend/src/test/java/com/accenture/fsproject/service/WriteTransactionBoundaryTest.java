@@ -0,0 +1,77 @@
+package com.accenture.fsproject.service;
+
+import com.accenture.fsproject.dto.company.CompanyCreateDTO;
+import com.accenture.fsproject.dto.company.CompanyUpdateDTO;
+import com.accenture.fsproject.dto.supplier.SupplierCreateDTO;
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import com.accenture.fsproject.model.enums.SupplierType;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class WriteTransactionBoundaryTest {
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private CepService cepService;
+
+    private final List<String> lookups = new ArrayList<>();
+
+    @BeforeEach
+    void recordConnectionsDuringLookup() {
+        when(cepService.resolveUf(anyString())).thenAnswer(invocation -> {
+            lookups.add(TransactionSynchronizationManager.isActualTransactionActive()
+                    + "/" + dataSource.getHikariPoolMXBean().getActiveConnections());
+            return FederativeUnit.MG;
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM company_supplier");
+        jdbcTemplate.update("DELETE FROM supplier");
+        jdbcTemplate.update("DELETE FROM company");
+    }
+
+    @Test
+    void shouldNotHoldConnectionWhileResolvingCep() {
+        Long supplierId = supplierService.create(new SupplierCreateDTO("Supplier A", SupplierType.PJ,
+                "13284781000135", null, null, "a@mail.com", "35604000", null, null)).id();
+
+        Long companyId = companyService.create(new CompanyCreateDTO("Company A", "53162442000109", "35604000",
+                null, Set.of(supplierId))).id();
+
+        companyService.update(companyId, new CompanyUpdateDTO("Company B", "35604000", null, null));
+
+        assertEquals(List.of("false/0", "false/0", "false/0"), lookups);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM company_supplier", Integer.class));
+    }
+}
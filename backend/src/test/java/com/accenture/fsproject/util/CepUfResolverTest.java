@@ -0,0 +1,40 @@
+package com.accenture.fsproject.util;
+
+import com.accenture.fsproject.model.enums.FederativeUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CepUfResolverTest {
+
+    @Test
+    void shouldResolveUfFromCepRange() {
+        assertEquals(Optional.of(FederativeUnit.SE), CepUfResolver.resolve("49042210"));
+        assertEquals(Optional.of(FederativeUnit.RS), CepUfResolver.resolve("93893970"));
+        assertEquals(Optional.of(FederativeUnit.SC), CepUfResolver.resolve("89053516"));
+        assertEquals(Optional.of(FederativeUnit.RJ), CepUfResolver.resolve("22783230"));
+        assertEquals(Optional.of(FederativeUnit.PR), CepUfResolver.resolve("86709224"));
+        assertEquals(Optional.of(FederativeUnit.RO), CepUfResolver.resolve("76900471"));
+        assertEquals(Optional.of(FederativeUnit.MG), CepUfResolver.resolve("35604000"));
+    }
+
+    @Test
+    void shouldResolveRangeBoundaries() {
+        assertEquals(Optional.of(FederativeUnit.SP), CepUfResolver.resolve("01000000"));
+        assertEquals(Optional.of(FederativeUnit.AM), CepUfResolver.resolve("69299999"));
+        assertEquals(Optional.of(FederativeUnit.RR), CepUfResolver.resolve("69300000"));
+        assertEquals(Optional.of(FederativeUnit.DF), CepUfResolver.resolve("73699999"));
+        assertEquals(Optional.of(FederativeUnit.GO), CepUfResolver.resolve("73700000"));
+        assertEquals(Optional.of(FederativeUnit.RS), CepUfResolver.resolve("99999999"));
+    }
+
+    @Test
+    void shouldNotResolveCepOutsideKnownRanges() {
+        assertTrue(CepUfResolver.resolve("00999999").isEmpty());
+        assertTrue(CepUfResolver.resolve("78900000").isEmpty());
+        assertTrue(CepUfResolver.resolve("1234567").isEmpty());
+        assertTrue(CepUfResolver.resolve("1234567a").isEmpty());
+    }
+}
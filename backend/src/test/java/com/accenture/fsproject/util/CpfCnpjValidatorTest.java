@@ -0,0 +1,46 @@
+package com.accenture.fsproject.util;
+
+import com.accenture.fsproject.exception.BusinessLogicException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CpfCnpjValidatorTest {
+
+    @Test
+    void shouldAcceptValidDocumentsWithOrWithoutFormatting() {
+        assertDoesNotThrow(() -> CpfCnpjValidator.valid("61301162094"));
+        assertDoesNotThrow(() -> CpfCnpjValidator.valid("613.011.620-94"));
+        assertDoesNotThrow(() -> CpfCnpjValidator.valid("90730183000193"));
+        assertDoesNotThrow(() -> CpfCnpjValidator.valid("90.730.183/0001-93"));
+    }
+
+    @Test
+    void shouldReportWhyDocumentIsInvalid() {
+        assertEquals("CPF/CNPJ is required.", messageOf(" "));
+        assertEquals("Invalid CPF/CNPJ.", messageOf("11111111111"));
+        assertEquals("Invalid CPF/CNPJ.", messageOf("1234567"));
+        assertEquals("Invalid CPF/CNPJ.", messageOf("907301830001931"));
+        assertEquals("Invalid CPF.", messageOf("61301162095"));
+        assertEquals("Invalid CNPJ.", messageOf("20361127000144"));
+    }
+
+    @Test
+    void shouldValidateBatchIntoBitmap() {
+        List<String> documents = Arrays.asList("61301162094", null, "20361127000144", "90730183000193");
+
+        BitSet valid = CpfCnpjValidator.validateAll(documents);
+
+        assertEquals(BitSet.valueOf(new long[]{0b1001}), valid);
+        assertTrue(CpfCnpjValidator.isValid(documents.get(3)));
+        assertFalse(CpfCnpjValidator.isValid(documents.get(2)));
+    }
+
+    private static String messageOf(String cpfCnpj) {
+        return assertThrows(BusinessLogicException.class, () -> CpfCnpjValidator.valid(cpfCnpj)).getMessage();
+    }
+}
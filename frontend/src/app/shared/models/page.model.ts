@@ -1,11 +1,7 @@
 export interface Page<T> {
   content: T[];
-  page: number;
+  number: number;
   size: number;
   totalElements: number;
   totalPages: number;
-  number: number;
-  numberOfElements: number;
-  first: boolean;
-  last: boolean;
 }
\ No newline at end of file